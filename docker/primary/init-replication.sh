@@ -0,0 +1,5 @@
+#!/bin/bash
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -c "SELECT pg_create_physical_replication_slot('orders_replica')"
@@ -0,0 +1,7 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.balances.reconciliation")
+public record BalanceReconciliationProperties(String cron, boolean repair) {
+}
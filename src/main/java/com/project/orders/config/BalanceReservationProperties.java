@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.balances.reservation")
+public record BalanceReservationProperties(int stripes, Duration acquireTimeout) {
+}
@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.balances.snapshots")
+public record BalanceSnapshotProperties(Duration interval, int minChanges) {
+}
@@ -0,0 +1,10 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({BalanceReconciliationProperties.class, BalanceReservationProperties.class,
+        BalanceSnapshotProperties.class})
+public class ClientBalanceConfig {
+}
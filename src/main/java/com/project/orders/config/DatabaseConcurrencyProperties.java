@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.database.concurrency")
+public record DatabaseConcurrencyProperties(Integer maxConcurrent, Duration acquireTimeout) {
+}
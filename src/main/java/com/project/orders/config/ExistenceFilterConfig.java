@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ExistenceFilterProperties.class)
+public class ExistenceFilterConfig {
+}
@@ -0,0 +1,7 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.filters")
+public record ExistenceFilterProperties(long expectedInsertions, double falsePositiveProbability) {
+}
@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.idempotency")
+public record IdempotencyProperties(int cacheSize, Duration retention, Duration claimTimeout, Duration cleanupInterval) {
+}
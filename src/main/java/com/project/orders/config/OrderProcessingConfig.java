@@ -0,0 +1,27 @@
+package com.project.orders.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(OrderProcessingProperties.class)
+public class OrderProcessingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor orderProcessingExecutor(OrderProcessingProperties properties, Environment environment) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setThreadNamePrefix("order-processing-");
+        executor.setCorePoolSize(properties.workers());
+        executor.setMaxPoolSize(properties.workers());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+}
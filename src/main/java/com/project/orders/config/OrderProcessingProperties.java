@@ -0,0 +1,13 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.processing")
+public record OrderProcessingProperties(int workers, int queueCapacity, Delay delay) {
+
+    public record Delay(Duration min, Duration max) {
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.project.orders.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor outboxStreamExecutor(Environment environment) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setThreadNamePrefix("outbox-stream-");
+        executor.setCorePoolSize(0);
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+}
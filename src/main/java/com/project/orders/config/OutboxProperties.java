@@ -0,0 +1,10 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.outbox")
+public record OutboxProperties(int batchSize, Duration pollInterval, Duration subscriberTimeout, int subscriberBufferSize,
+                               Duration retention, Duration cleanupInterval) {
+}
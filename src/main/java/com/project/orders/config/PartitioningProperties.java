@@ -0,0 +1,9 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.database.partitioning")
+public record PartitioningProperties(Duration interval, int premadeMonths, int retainedMonths) {
+}
@@ -0,0 +1,25 @@
+package com.project.orders.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(ProfitRefreshProperties.class)
+public class ProfitRefreshConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor profitRefreshExecutor(ProfitRefreshProperties properties, Environment environment) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setThreadNamePrefix("profit-refresh-");
+        executor.setCorePoolSize(properties.workers());
+        executor.setMaxPoolSize(properties.workers());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+}
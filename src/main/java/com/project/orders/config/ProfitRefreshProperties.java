@@ -0,0 +1,7 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.balances.refresh")
+public record ProfitRefreshProperties(int workers, int chunks) {
+}
@@ -0,0 +1,60 @@
+package com.project.orders.config;
+
+import com.project.orders.persistence.datasource.ReplicaRoutingContext;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE = "orders-read-primary";
+
+    private static final Set<String> WRITE_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final Duration window;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            ReplicaRoutingContext.requirePrimary();
+            response.addCookie(createCookie());
+        } else if (hasRecentWrite(request)) {
+            ReplicaRoutingContext.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception e) {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.clear();
+    }
+
+    private Cookie createCookie() {
+        var cookie = new Cookie(COOKIE, "1");
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        return cookie;
+    }
+
+    private static boolean hasRecentWrite(HttpServletRequest request) {
+        return Objects.nonNull(request.getCookies()) && Arrays.stream(request.getCookies())
+                .anyMatch(cookie -> COOKIE.equals(cookie.getName()));
+    }
+
+}
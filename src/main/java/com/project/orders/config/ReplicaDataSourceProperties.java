@@ -0,0 +1,17 @@
+package com.project.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.database.replica")
+public record ReplicaDataSourceProperties(boolean enabled,
+                                          String url,
+                                          String username,
+                                          String password,
+                                          int maximumPoolSize,
+                                          Duration maxLag,
+                                          Duration lagCheckInterval,
+                                          Duration lagCheckTimeout,
+                                          Duration readYourWritesWindow) {
+}
@@ -0,0 +1,49 @@
+package com.project.orders.config;
+
+import com.project.orders.persistence.datasource.ReadReplica;
+import com.project.orders.persistence.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "orders.database.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@RequiredArgsConstructor
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaDataSourceProperties properties;
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReadReplica> readReplica) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+
+                var routingDataSource = new LazyConnectionDataSourceProxy(dataSource);
+                routingDataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(dataSource, readReplica.getObject()));
+                return routingDataSource;
+            }
+
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(properties.readYourWritesWindow()));
+    }
+
+}
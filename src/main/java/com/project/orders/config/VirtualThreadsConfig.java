@@ -0,0 +1,72 @@
+package com.project.orders.config;
+
+import com.project.orders.persistence.datasource.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(DatabaseConcurrencyProperties.class)
+public class VirtualThreadsConfig {
+
+    private static final int DEFAULT_MAX_CONCURRENT = 10;
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            ObjectProvider<DatabaseConcurrencyProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+
+                var limits = properties.getObject();
+                var maxConcurrent = Optional.ofNullable(limits.maxConcurrent())
+                        .orElseGet(() -> getMaximumPoolSize(dataSource));
+                var acquireTimeout = Objects.requireNonNullElse(limits.acquireTimeout(), Duration.ofSeconds(5));
+
+                var limitingDataSource = new ConcurrencyLimitingDataSource(dataSource, maxConcurrent, acquireTimeout);
+                meterRegistry.ifAvailable(registry -> registerMetrics(limitingDataSource, registry));
+                return limitingDataSource;
+            }
+
+        };
+    }
+
+    private static int getMaximumPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource && hikariDataSource.getMaximumPoolSize() > 0) {
+            return hikariDataSource.getMaximumPoolSize();
+        }
+
+        return DEFAULT_MAX_CONCURRENT;
+    }
+
+    private static void registerMetrics(ConcurrencyLimitingDataSource dataSource, MeterRegistry meterRegistry) {
+        Gauge.builder("orders.database.concurrency.active", dataSource, ConcurrencyLimitingDataSource::getActiveConnections)
+                .description("Connections handed out through the database concurrency limiter")
+                .register(meterRegistry);
+        Gauge.builder("orders.database.concurrency.waiting", dataSource, ConcurrencyLimitingDataSource::getWaitingThreads)
+                .description("Threads waiting on the database concurrency limiter")
+                .register(meterRegistry);
+        dataSource.setWaitTimer(Timer.builder("orders.database.concurrency.wait")
+                .description("Time spent waiting on the database concurrency limiter")
+                .register(meterRegistry));
+    }
+
+}
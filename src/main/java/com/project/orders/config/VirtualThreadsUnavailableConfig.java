@@ -0,0 +1,24 @@
+package com.project.orders.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+public class VirtualThreadsUnavailableConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warn() {
+        log.warn("spring.threads.virtual.enabled is ignored on Java {}: virtual threads require Java 21+, "
+                + "so requests and workers run on platform threads without the database concurrency limiter",
+                JavaVersion.getJavaVersion());
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.project.orders.controller;
 
+import com.project.orders.dto.response.ProfitRefreshJobResponse;
+import com.project.orders.enums.ExportFormat;
 import com.project.orders.exception.ExceptionResponse;
 import com.project.orders.service.clientbalance.ClientBalanceChangeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,8 +10,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @RestController
@@ -20,14 +30,56 @@ public class ClientBalanceChangeController {
     private final ClientBalanceChangeService clientBalanceChangeService;
 
     @PutMapping("/refresh-all")
-    @Operation(summary = "Refresh profit for all clients")
+    @Operation(summary = "Start profit refresh job for all clients")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Profit refreshed"),
+            @ApiResponse(responseCode = "202", description = "Profit refresh job started", content = @Content(schema = @Schema(implementation = ProfitRefreshJobResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
 
     })
-    public void refreshProfitForAllClients() {
-        clientBalanceChangeService.refreshProfitForAllClients();
+    public ResponseEntity<ProfitRefreshJobResponse> refreshProfitForAllClients() {
+        var job = clientBalanceChangeService.refreshProfitForAllClients();
+        var jobUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/client-balances/refresh-jobs/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(jobUri)
+                .body(job);
+    }
+
+    @GetMapping("/refresh-jobs/{id}")
+    @Operation(summary = "Get profit refresh job status by id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profit refresh job status retrieved", content = @Content(schema = @Schema(implementation = ProfitRefreshJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Profit refresh job not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public ProfitRefreshJobResponse getRefreshJob(@PathVariable UUID id) {
+        return clientBalanceChangeService.getRefreshJob(id);
+    }
+
+    @GetMapping("/{clientId}/statement")
+    @Operation(summary = "Export client balance changes as a NDJSON or CSV stream")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Client balance changes streamed"),
+            @ApiResponse(responseCode = "400", description = "Created date range not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Client not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportStatement(@PathVariable UUID clientId,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdFrom,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdTo,
+                                                                 @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        var body = clientBalanceChangeService.exportStatement(clientId, createdFrom, createdTo, format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("client-%s-statement.%s".formatted(clientId, format.getExtension()))
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PutMapping("/{clientId}/refresh")
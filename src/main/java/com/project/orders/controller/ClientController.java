@@ -2,10 +2,14 @@ package com.project.orders.controller;
 
 import com.project.orders.dto.request.ClientRequest;
 import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.CursorPageResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.ProfitHistoryResponse;
+import com.project.orders.enums.ProfitGranularity;
 import com.project.orders.exception.ExceptionResponse;
 import com.project.orders.service.client.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,10 +17,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -27,15 +36,41 @@ public class ClientController {
     private final ClientService clientService;
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get client by id")
+    @Operation(summary = "Get client by id", description = "Responds with an ETag. Requests with a matching If-None-Match header get 304")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Client retrieved", content = @Content(schema = @Schema(implementation = ClientResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Client not modified"),
             @ApiResponse(responseCode = "404", description = "Order not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
 
     })
-    public ClientResponse getClientById(@PathVariable UUID id) {
-        return clientService.getById(id);
+    public ResponseEntity<ClientResponse> getClientById(@PathVariable UUID id,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var client = clientService.getVersionedById(id, ifNoneMatch);
+
+        if (client.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(client.etag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(client.etag())
+                .body(client.content());
+    }
+
+    @GetMapping("/{id}/profit-history")
+    @Operation(summary = "Get client profit history", description = "Sums daily profit rollups by UTC day, week or month. Date from is inclusive, date to is exclusive")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profit history retrieved", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProfitHistoryResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Date range not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Client not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public List<ProfitHistoryResponse> getProfitHistory(@PathVariable UUID id,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(defaultValue = "DAY") ProfitGranularity granularity) {
+        return clientService.getProfitHistory(id, from, to, granularity);
     }
 
     @GetMapping
@@ -51,6 +86,21 @@ public class ClientController {
         return clientService.getAll(search, profitFrom, profitTo, pageable);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all clients with cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clients retrieved", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor or page size not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public CursorPageResponse<ClientResponse> getAllClients(@RequestParam(required = false) String search,
+                                                            @RequestParam(required = false) BigDecimal profitFrom,
+                                                            @RequestParam(required = false) BigDecimal profitTo,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return clientService.getAll(search, profitFrom, profitTo, cursor, size);
+    }
+
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
     @Operation(summary = "Create client")
@@ -1,8 +1,13 @@
 package com.project.orders.controller;
 
+import com.project.orders.dto.request.OrderBatchRequest;
 import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.CursorPageResponse;
+import com.project.orders.dto.response.OrderBatchResponse;
 import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.OrderStatusResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.enums.ExportFormat;
 import com.project.orders.exception.ExceptionResponse;
 import com.project.orders.service.order.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,51 +18,169 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String EXPAND_PROFIT = "profit";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderService orderService;
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get order by id")
+    @Operation(summary = "Get order by id", description = "Reads the order with its supplier and consumer in a single statement. " +
+            "Client profit is only calculated with expand=profit. Responds with an ETag, requests with a matching If-None-Match header get 304")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order retrieved", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Order not modified"),
             @ApiResponse(responseCode = "404", description = "Order not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
     })
-    public OrderResponse getOrderById(@PathVariable UUID id) {
-        return orderService.getById(id);
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable UUID id,
+                                                      @RequestParam(required = false) Set<String> expand,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var order = orderService.getVersionedById(id, isProfitExpanded(expand), ifNoneMatch);
+
+        if (order.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(order.etag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(order.etag())
+                .body(order.content());
+    }
+
+    @GetMapping("/{id}/status")
+    @Operation(summary = "Get order processing status by id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order status retrieved", content = @Content(schema = @Schema(implementation = OrderStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found by id", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public OrderStatusResponse getOrderStatus(@PathVariable UUID id) {
+        return orderService.getStatus(id);
     }
 
     @GetMapping
-    @Operation(summary = "Get all orders")
+    @Operation(summary = "Get all orders", description = "Reads a page of orders with their suppliers and consumers in a single statement, " +
+            "plus one count statement unless the page content already determines the total. Client profit is only calculated with expand=profit")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved", content = @Content(schema = @Schema(implementation = PageResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
     })
     public PageResponse<OrderResponse> getAllOrders(@RequestParam(required = false) UUID supplierId,
                                                     @RequestParam(required = false) UUID consumerId,
+                                                    @RequestParam(required = false) Set<String> expand,
                                                     Pageable pageable) {
-        return orderService.getAll(supplierId, consumerId, pageable);
+        return orderService.getAll(supplierId, consumerId, pageable, isProfitExpanded(expand));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all orders with cursor pagination", description = "Reads a page of orders with their suppliers and consumers " +
+            "in a single statement. Client profit is only calculated with expand=profit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor or page size not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public CursorPageResponse<OrderResponse> getAllOrders(@RequestParam(required = false) UUID supplierId,
+                                                          @RequestParam(required = false) UUID consumerId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @RequestParam(required = false) Set<String> expand) {
+        return orderService.getAll(supplierId, consumerId, cursor, size, isProfitExpanded(expand));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders as a NDJSON or CSV stream")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders streamed"),
+            @ApiResponse(responseCode = "400", description = "Created date range not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) UUID supplierId,
+                                                              @RequestParam(required = false) UUID consumerId,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdFrom,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdTo,
+                                                              @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        var body = orderService.export(supplierId, consumerId, createdFrom, createdTo, format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
-    @Operation(summary = "Create order")
+    @Operation(summary = "Create order", description = "Retries with the same Idempotency-Key get the response of the first request " +
+            "without creating the order again. Retries arriving at the same instance while the first request is still processed wait for its response")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order created", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
             @ApiResponse(responseCode = "400", description = "Order request not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Request with the same idempotency key is still in progress on another instance", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public CompletableFuture<OrderResponse> createOrder(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                        @RequestBody @Valid OrderRequest orderRequest) {
+        return orderService.create(orderRequest, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per order results", content = @Content(schema = @Schema(implementation = OrderBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Batch request not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public OrderBatchResponse createOrders(@RequestBody @Valid OrderBatchRequest orderBatchRequest) {
+        return orderService.createBatch(orderBatchRequest);
+    }
+
+    @PostMapping("/async")
+    @Operation(summary = "Submit order for asynchronous processing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Order accepted for processing", content = @Content(schema = @Schema(implementation = OrderStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Order request not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Order processing queue is full", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
     })
-    public OrderResponse createOrder(@RequestBody @Valid OrderRequest orderRequest) {
-        return orderService.create(orderRequest);
+    public ResponseEntity<OrderStatusResponse> submitOrder(@RequestBody @Valid OrderRequest orderRequest) {
+        var orderStatus = orderService.submit(orderRequest);
+        var statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/orders/{id}/status")
+                .buildAndExpand(orderStatus.id())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(statusUri)
+                .body(orderStatus);
+    }
+
+    private static boolean isProfitExpanded(Set<String> expand) {
+        return Objects.nonNull(expand) && expand.contains(EXPAND_PROFIT);
     }
 
 }
@@ -0,0 +1,40 @@
+package com.project.orders.controller;
+
+import com.project.orders.exception.ExceptionResponse;
+import com.project.orders.service.outbox.OutboxEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+public class OutboxEventController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final OutboxEventService outboxEventService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order and client balance changes as server-sent events",
+            description = "Each event id is its position in the change stream. Events after the given position " +
+                    "(or Last-Event-ID on reconnect) are replayed first, without a position the stream starts at the latest event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream opened"),
+            @ApiResponse(responseCode = "400", description = "Event position not valid", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    public SseEmitter streamEvents(@RequestParam(required = false) Long after,
+                                   @RequestHeader(name = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return outboxEventService.subscribe(Objects.nonNull(after) ? after : lastEventId);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.project.orders.dto.event;
+
+import com.project.orders.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record OrderEvent(UUID id,
+                         String name,
+                         BigDecimal price,
+                         OrderStatus status,
+                         String rejectionReason,
+                         UUID supplierId,
+                         UUID consumerId,
+                         ZonedDateTime createdDate,
+                         ZonedDateTime startProcessingDate,
+                         ZonedDateTime endProcessingDate) {
+}
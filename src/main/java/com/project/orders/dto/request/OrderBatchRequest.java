@@ -0,0 +1,11 @@
+package com.project.orders.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderBatchRequest(@NotEmpty @Size(max = 1000) List<@Valid @NotNull OrderRequest> orders) {
+}
@@ -1,12 +1,14 @@
 package com.project.orders.dto.request;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 public record OrderRequest(@NotBlank @Size(max = 255) String name,
-                           @NotNull BigDecimal price,
+                           @NotNull @Digits(integer = 16, fraction = 2)
+                           @Schema(description = "Order price with at most 2 decimal places", example = "10.50") BigDecimal price,
                            @NotNull UUID supplierId,
                            @NotNull UUID consumerId) {
 }
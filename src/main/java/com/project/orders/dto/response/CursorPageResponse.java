@@ -0,0 +1,9 @@
+package com.project.orders.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CursorPageResponse<T>(int size, String next, List<T> content) {
+}
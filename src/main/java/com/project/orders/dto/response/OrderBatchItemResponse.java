@@ -0,0 +1,6 @@
+package com.project.orders.dto.response;
+
+import java.util.UUID;
+
+public record OrderBatchItemResponse(int index, int status, UUID orderId, String message) {
+}
@@ -0,0 +1,9 @@
+package com.project.orders.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record OrderBatchResponse(int created, int failed, List<OrderBatchItemResponse> items) {
+}
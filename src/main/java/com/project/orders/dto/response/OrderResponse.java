@@ -1,5 +1,7 @@
 package com.project.orders.dto.response;
 
+import com.project.orders.enums.OrderStatus;
+
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.UUID;
@@ -9,6 +11,7 @@ public record OrderResponse(UUID id,
                             BigDecimal price,
                             ZonedDateTime startProcessingTime,
                             ZonedDateTime endProcessingTime,
+                            OrderStatus status,
                             ZonedDateTime createdDate,
                             ClientResponse supplier,
                             ClientResponse consumer) {
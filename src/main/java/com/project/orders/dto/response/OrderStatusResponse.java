@@ -0,0 +1,14 @@
+package com.project.orders.dto.response;
+
+import com.project.orders.enums.OrderStatus;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record OrderStatusResponse(UUID id,
+                                  OrderStatus status,
+                                  String rejectionReason,
+                                  ZonedDateTime createdDate,
+                                  ZonedDateTime startProcessingDate,
+                                  ZonedDateTime endProcessingDate) {
+}
@@ -0,0 +1,15 @@
+package com.project.orders.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.project.orders.enums.OutboxEventType;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record OutboxEventResponse(long position,
+                                  OutboxEventType eventType,
+                                  UUID aggregateId,
+                                  ZonedDateTime createdDate,
+                                  ZonedDateTime publishedDate,
+                                  @JsonRawValue String payload) {
+}
@@ -0,0 +1,11 @@
+package com.project.orders.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ProfitHistoryResponse(LocalDate periodStart,
+                                    BigDecimal orderCreation,
+                                    BigDecimal adjustment,
+                                    BigDecimal profit,
+                                    long changes) {
+}
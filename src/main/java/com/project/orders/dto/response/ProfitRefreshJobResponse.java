@@ -0,0 +1,20 @@
+package com.project.orders.dto.response;
+
+import com.project.orders.enums.ProfitRefreshStatus;
+import lombok.Builder;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Builder
+public record ProfitRefreshJobResponse(UUID id,
+                                       ProfitRefreshStatus status,
+                                       int totalChunks,
+                                       long completedChunks,
+                                       long refreshedClients,
+                                       double chunksPerSecond,
+                                       Long etaSeconds,
+                                       String failure,
+                                       ZonedDateTime createdDate,
+                                       ZonedDateTime finishedDate) {
+}
@@ -0,0 +1,16 @@
+package com.project.orders.dto.response;
+
+import java.util.Objects;
+
+public record VersionedResponse<T>(String etag,
+                                   T content) {
+
+    public static <T> VersionedResponse<T> notModified(String etag) {
+        return new VersionedResponse<>(etag, null);
+    }
+
+    public boolean isNotModified() {
+        return Objects.isNull(content);
+    }
+
+}
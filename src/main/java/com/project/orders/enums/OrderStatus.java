@@ -0,0 +1,5 @@
+package com.project.orders.enums;
+
+public enum OrderStatus {
+    PENDING, PROCESSING, COMPLETED, REJECTED
+}
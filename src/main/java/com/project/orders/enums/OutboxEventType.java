@@ -0,0 +1,5 @@
+package com.project.orders.enums;
+
+public enum OutboxEventType {
+    ORDER_CREATED, ORDER_STATUS_CHANGED, CLIENT_CREATED, CLIENT_UPDATED, CLIENT_ACTIVE_CHANGED, CLIENT_BALANCE_REFRESHED
+}
@@ -0,0 +1,14 @@
+package com.project.orders.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ProfitGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String unit;
+}
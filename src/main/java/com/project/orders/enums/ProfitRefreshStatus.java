@@ -0,0 +1,5 @@
+package com.project.orders.enums;
+
+public enum ProfitRefreshStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -1,11 +1,14 @@
 package com.project.orders.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @ControllerAdvice
 @Slf4j
@@ -24,6 +27,14 @@ public class RestExceptionHandler {
                 .body(new ExceptionResponse(badRequestStatus.value(), description));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ExceptionResponse> handleException(MethodArgumentTypeMismatchException e) {
+        var badRequestStatus = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity.status(badRequestStatus)
+                .body(new ExceptionResponse(badRequestStatus.value(), "%s is not valid".formatted(e.getName())));
+    }
+
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ExceptionResponse> handleException(ApiException e) {
         log.error(e.getMessage(), e);
@@ -31,6 +42,28 @@ public class RestExceptionHandler {
                 .body(new ExceptionResponse(e.getStatusCode(), e.getMessage()));
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ExceptionResponse> handleException(CannotCreateTransactionException e) {
+        log.error(e.getMessage(), e);
+
+        var unavailableStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(unavailableStatus)
+                .body(new ExceptionResponse(unavailableStatus.value(), "Database is busy, retry later"));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ExceptionResponse> handleException(DataIntegrityViolationException e) {
+        if (!UniqueViolations.isUniqueViolation(e)) {
+            return handleException((Exception) e);
+        }
+
+        log.error(e.getMessage(), e);
+
+        var conflictStatus = HttpStatus.CONFLICT;
+        return ResponseEntity.status(conflictStatus)
+                .body(new ExceptionResponse(conflictStatus.value(), "Resource already exists"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ExceptionResponse> handleException(Exception e) {
         log.error(e.getMessage(), e);
@@ -0,0 +1,22 @@
+package com.project.orders.exception;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.sql.SQLException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UniqueViolations {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    public static boolean isUniqueViolation(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -2,9 +2,12 @@ package com.project.orders.mapper;
 
 import com.project.orders.dto.request.ClientRequest;
 import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.CursorPageResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.ProfitHistoryResponse;
 import com.project.orders.persistence.model.Client;
-import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.projection.ProfitHistoryRow;
+import com.project.orders.persistence.specification.KeysetCursor;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -22,11 +25,13 @@ public interface ClientMapper {
 
     void update(@MappingTarget Client client, ClientRequest clientRequest);
 
-    @Mapping(target = "profit", source = "balanceChanges", qualifiedByName = "calculateProfit")
+    @Mapping(target = "profit", source = "profit", qualifiedByName = "calculateProfit")
     ClientResponse toDto(Client client);
 
     List<ClientResponse> toDtos(List<Client> client);
 
+    List<ProfitHistoryResponse> toProfitHistory(List<ProfitHistoryRow> rows);
+
     default PageResponse<ClientResponse> toPageResponse(Page<Client> page) {
         return PageResponse.<ClientResponse>builder()
                 .page(page.getNumber())
@@ -37,13 +42,25 @@ public interface ClientMapper {
                 .build();
     }
 
+    default CursorPageResponse<ClientResponse> toCursorPageResponse(List<Client> clients, int size) {
+        var content = clients.stream()
+                .limit(size)
+                .toList();
+        var next = clients.size() > size
+                ? KeysetCursor.of(content.get(content.size() - 1)).encode()
+                : null;
+
+        return CursorPageResponse.<ClientResponse>builder()
+                .size(size)
+                .next(next)
+                .content(toDtos(content))
+                .build();
+    }
+
     @Named("calculateProfit")
-    default BigDecimal calculateProfit(List<ClientBalanceChange> changes) {
-        return Optional.ofNullable(changes)
-                .orElse(List.of())
-                .stream()
-                .map(ClientBalanceChange::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    default BigDecimal calculateProfit(BigDecimal balance) {
+        return Optional.ofNullable(balance)
+                .orElse(BigDecimal.ZERO);
     }
 
 }
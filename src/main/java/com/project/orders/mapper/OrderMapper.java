@@ -1,10 +1,16 @@
 package com.project.orders.mapper;
 
+import com.project.orders.dto.event.OrderEvent;
 import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.CursorPageResponse;
 import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.OrderStatusResponse;
 import com.project.orders.dto.response.PageResponse;
 import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderRow;
+import com.project.orders.persistence.specification.KeysetCursor;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -16,15 +22,54 @@ public interface OrderMapper {
 
     OrderResponse toDto(Order order);
 
-    List<OrderResponse> toDtos(List<Order> orders);
+    OrderStatusResponse toStatusDto(Order order);
 
-    default PageResponse<OrderResponse> toPageResponse(Page<Order> page) {
+    @Mapping(target = "supplierId", source = "supplier.id")
+    @Mapping(target = "consumerId", source = "consumer.id")
+    OrderEvent toEvent(Order order);
+
+    @Mapping(target = "startProcessingTime", source = "startProcessingDate")
+    @Mapping(target = "endProcessingTime", source = "endProcessingDate")
+    @Mapping(target = "supplier.id", source = "supplierId")
+    @Mapping(target = "supplier.name", source = "supplierName")
+    @Mapping(target = "supplier.email", source = "supplierEmail")
+    @Mapping(target = "supplier.address", source = "supplierAddress")
+    @Mapping(target = "supplier.active", source = "supplierActive")
+    @Mapping(target = "supplier.createdDate", source = "supplierCreatedDate")
+    @Mapping(target = "supplier.profit", source = "supplierProfit")
+    @Mapping(target = "consumer.id", source = "consumerId")
+    @Mapping(target = "consumer.name", source = "consumerName")
+    @Mapping(target = "consumer.email", source = "consumerEmail")
+    @Mapping(target = "consumer.address", source = "consumerAddress")
+    @Mapping(target = "consumer.active", source = "consumerActive")
+    @Mapping(target = "consumer.createdDate", source = "consumerCreatedDate")
+    @Mapping(target = "consumer.profit", source = "consumerProfit")
+    OrderResponse toDto(OrderRow orderRow);
+
+    List<OrderResponse> toRowDtos(List<OrderRow> orderRows);
+
+    default PageResponse<OrderResponse> toRowPageResponse(Page<OrderRow> page) {
         return PageResponse.<OrderResponse>builder()
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
                 .totalPages(page.getTotalPages())
-                .content(toDtos(page.getContent()))
+                .content(toRowDtos(page.getContent()))
+                .build();
+    }
+
+    default CursorPageResponse<OrderResponse> toRowCursorPageResponse(List<OrderRow> orderRows, int size) {
+        var content = orderRows.stream()
+                .limit(size)
+                .toList();
+        var next = orderRows.size() > size
+                ? new KeysetCursor(content.get(content.size() - 1).createdDate(), content.get(content.size() - 1).id()).encode()
+                : null;
+
+        return CursorPageResponse.<OrderResponse>builder()
+                .size(size)
+                .next(next)
+                .content(toRowDtos(content))
                 .build();
     }
 }
@@ -0,0 +1,16 @@
+package com.project.orders.mapper;
+
+import com.project.orders.dto.response.OutboxEventResponse;
+import com.project.orders.persistence.model.OutboxEvent;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface OutboxEventMapper {
+
+    OutboxEventResponse toDto(OutboxEvent outboxEvent);
+
+    List<OutboxEventResponse> toDtos(List<OutboxEvent> outboxEvents);
+
+}
@@ -0,0 +1,105 @@
+package com.project.orders.persistence.datasource;
+
+import com.project.orders.config.ReplicaDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orders.database.replica", name = "enabled", havingValue = "true")
+public class ReadReplica {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END
+            """;
+
+    private final HikariDataSource dataSource;
+    private final HikariDataSource probeDataSource;
+    private final Duration maxLag;
+    private final Duration lagCheckTimeout;
+
+    private volatile Duration lag;
+
+    public ReadReplica(ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setPoolName("replica");
+        this.dataSource.setJdbcUrl(properties.url());
+        this.dataSource.setUsername(properties.username());
+        this.dataSource.setPassword(properties.password());
+        this.dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+        this.dataSource.setReadOnly(true);
+        this.dataSource.setInitializationFailTimeout(-1);
+        this.dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.probeDataSource = new HikariDataSource();
+        this.probeDataSource.setPoolName("replica-probe");
+        this.probeDataSource.setJdbcUrl(properties.url());
+        this.probeDataSource.setUsername(properties.username());
+        this.probeDataSource.setPassword(properties.password());
+        this.probeDataSource.setMaximumPoolSize(1);
+        this.probeDataSource.setConnectionTimeout(properties.lagCheckTimeout().toMillis());
+        this.probeDataSource.setReadOnly(true);
+        this.probeDataSource.setInitializationFailTimeout(-1);
+        this.maxLag = properties.maxLag();
+        this.lagCheckTimeout = properties.lagCheckTimeout();
+
+        Gauge.builder("orders.database.replica.lag", this, replica -> replica.lag == null ? Double.NaN : replica.lag.toMillis() / 1000.0)
+                .description("Replay lag of the read replica, in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.database.replica.usable", this, replica -> replica.isUsable() ? 1 : 0)
+                .description("Whether read-only transactions are routed to the read replica")
+                .register(meterRegistry);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isUsable() {
+        var currentLag = lag;
+        return Objects.nonNull(currentLag) && currentLag.compareTo(maxLag) <= 0;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.database.replica.lag-check-interval}")
+    public void refreshLag() {
+        try (var connection = probeDataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, lagCheckTimeout.toSeconds()));
+            var resultSet = statement.executeQuery(LAG_QUERY);
+            resultSet.next();
+            var seconds = resultSet.getBigDecimal(1);
+            lag = Objects.isNull(seconds)
+                    ? null
+                    : Duration.ofNanos(seconds.movePointRight(9).longValue());
+        } catch (SQLException e) {
+            if (Objects.nonNull(lag)) {
+                log.warn("Read replica is not available, reads are routed to the primary", e);
+            }
+            lag = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        probeDataSource.close();
+        dataSource.close();
+    }
+
+}
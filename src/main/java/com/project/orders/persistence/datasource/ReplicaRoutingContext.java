@@ -0,0 +1,42 @@
+package com.project.orders.persistence.datasource;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.function.Supplier;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(true);
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        var previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(true);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_REQUIRED.set(previous);
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+}
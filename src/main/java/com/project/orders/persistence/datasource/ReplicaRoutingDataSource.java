@@ -0,0 +1,30 @@
+package com.project.orders.persistence.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReadReplica readReplica;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, ReadReplica readReplica) {
+        this.readReplica = readReplica;
+        setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, readReplica.getDataSource()));
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReplicaRoutingContext.isPrimaryRequired() || !readReplica.isUsable()
+                ? PRIMARY
+                : REPLICA;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.project.orders.persistence.function;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    public static final String WORD_SIMILARITY_MATCH = "word_similarity_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+
+        functionContributions.getFunctionRegistry()
+                .registerPattern(WORD_SIMILARITY_MATCH, "(?1 <% ?2)", booleanType);
+    }
+
+}
@@ -20,12 +20,14 @@ public abstract class BaseEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    private ZonedDateTime createdDate;
+    public abstract ZonedDateTime getCreatedDate();
+
+    public abstract void setCreatedDate(ZonedDateTime createdDate);
 
     @PrePersist
     public void prePersist() {
-        if (Objects.isNull(this.createdDate)) {
-            this.createdDate = ZonedDateTime.now();
+        if (Objects.isNull(getCreatedDate())) {
+            setCreatedDate(ZonedDateTime.now());
         }
     }
 
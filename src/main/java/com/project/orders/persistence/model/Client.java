@@ -2,7 +2,9 @@ package com.project.orders.persistence.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,11 +25,17 @@ public class Client extends BaseEntity {
 
     private String address;
 
+    @Column(insertable = false, updatable = false)
+    private String searchText;
+
     @Builder.Default
     private Boolean active = true;
 
     private ZonedDateTime deactivationDate;
 
+    @Formula("(COALESCE((SELECT cb.balance FROM client_balances cb WHERE cb.client_id = id), 0.0))")
+    private BigDecimal profit;
+
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @Builder.Default
@@ -46,4 +54,6 @@ public class Client extends BaseEntity {
     @OneToMany(mappedBy = "client")
     private List<ClientBalanceChange> balanceChanges = new ArrayList<>();
 
+    private ZonedDateTime createdDate;
+
 }
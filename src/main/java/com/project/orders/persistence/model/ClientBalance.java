@@ -0,0 +1,27 @@
+package com.project.orders.persistence.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "client_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientBalance {
+
+    @Id
+    private UUID clientId;
+
+    private BigDecimal balance;
+
+    private ZonedDateTime updatedDate;
+
+}
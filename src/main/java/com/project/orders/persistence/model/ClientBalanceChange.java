@@ -4,9 +4,11 @@ import com.project.orders.enums.ClientBalanceChangeType;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 
 @Entity
 @Table(name = "client_balance_changes")
@@ -36,4 +38,8 @@ public class ClientBalanceChange extends BaseEntity {
     @JoinColumn(name = "order_id")
     private Order order;
 
+    @PartitionKey
+    @Column(insertable = false, updatable = false)
+    private ZonedDateTime createdDate;
+
 }
@@ -0,0 +1,40 @@
+package com.project.orders.persistence.model;
+
+import com.project.orders.enums.IdempotencyKeyStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+import org.hibernate.type.SqlTypes;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class IdempotencyKey extends BaseEntity {
+
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Enumerated(EnumType.STRING)
+    private IdempotencyKeyStatus status;
+
+    private Integer statusCode;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String response;
+
+    private String message;
+
+    private ZonedDateTime createdDate;
+
+}
@@ -1,7 +1,11 @@
 package com.project.orders.persistence.model;
 
+import com.project.orders.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
@@ -26,6 +30,12 @@ public class Order extends BaseEntity {
 
     private ZonedDateTime endProcessingDate;
 
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private String rejectionReason;
+
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,4 +54,7 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order")
     private List<ClientBalanceChange> clientBalanceChanges = new ArrayList<>();
 
+    @PartitionKey
+    private ZonedDateTime createdDate;
+
 }
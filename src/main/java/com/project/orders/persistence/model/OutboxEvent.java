@@ -0,0 +1,39 @@
+package com.project.orders.persistence.model;
+
+import com.project.orders.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+import org.hibernate.type.SqlTypes;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class OutboxEvent extends BaseEntity {
+
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    private UUID aggregateId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    private Long position;
+
+    private ZonedDateTime publishedDate;
+
+    private ZonedDateTime createdDate;
+
+}
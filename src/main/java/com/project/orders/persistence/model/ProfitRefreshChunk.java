@@ -0,0 +1,37 @@
+package com.project.orders.persistence.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "profit_refresh_chunks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class ProfitRefreshChunk extends BaseEntity {
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id")
+    private ProfitRefreshJob job;
+
+    private Integer chunkIndex;
+
+    private UUID rangeStart;
+
+    private UUID rangeEnd;
+
+    private Integer refreshedClients;
+
+    private ZonedDateTime completedDate;
+
+    private ZonedDateTime createdDate;
+
+}
@@ -0,0 +1,33 @@
+package com.project.orders.persistence.model;
+
+import com.project.orders.enums.ProfitRefreshStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(name = "profit_refresh_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class ProfitRefreshJob extends BaseEntity {
+
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Enumerated(EnumType.STRING)
+    private ProfitRefreshStatus status;
+
+    private Integer chunkCount;
+
+    private String failure;
+
+    private ZonedDateTime finishedDate;
+
+    private ZonedDateTime createdDate;
+
+}
@@ -0,0 +1,10 @@
+package com.project.orders.persistence.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface ClientBalanceMismatch {
+    UUID getClientId();
+    BigDecimal getBalance();
+    BigDecimal getLedgerBalance();
+}
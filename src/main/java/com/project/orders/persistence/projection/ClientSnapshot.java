@@ -0,0 +1,6 @@
+package com.project.orders.persistence.projection;
+
+import java.util.UUID;
+
+public record ClientSnapshot(UUID id, String name, String email, Boolean active) {
+}
@@ -0,0 +1,14 @@
+package com.project.orders.persistence.projection;
+
+import com.project.orders.enums.ClientBalanceChangeType;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record ClientStatementRow(UUID id,
+                                 UUID orderId,
+                                 ClientBalanceChangeType changeType,
+                                 BigDecimal amount,
+                                 ZonedDateTime createdDate) {
+}
@@ -0,0 +1,6 @@
+package com.project.orders.persistence.projection;
+
+import java.util.UUID;
+
+public record OrderKey(String name, UUID supplierId, UUID consumerId) {
+}
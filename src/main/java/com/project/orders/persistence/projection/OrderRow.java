@@ -0,0 +1,30 @@
+package com.project.orders.persistence.projection;
+
+import com.project.orders.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record OrderRow(UUID id,
+                       String name,
+                       BigDecimal price,
+                       ZonedDateTime startProcessingDate,
+                       ZonedDateTime endProcessingDate,
+                       OrderStatus status,
+                       ZonedDateTime createdDate,
+                       UUID supplierId,
+                       String supplierName,
+                       String supplierEmail,
+                       String supplierAddress,
+                       Boolean supplierActive,
+                       ZonedDateTime supplierCreatedDate,
+                       BigDecimal supplierProfit,
+                       UUID consumerId,
+                       String consumerName,
+                       String consumerEmail,
+                       String consumerAddress,
+                       Boolean consumerActive,
+                       ZonedDateTime consumerCreatedDate,
+                       BigDecimal consumerProfit) {
+}
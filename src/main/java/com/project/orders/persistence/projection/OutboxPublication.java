@@ -0,0 +1,6 @@
+package com.project.orders.persistence.projection;
+
+public interface OutboxPublication {
+    long getPosition();
+    double getLagMillis();
+}
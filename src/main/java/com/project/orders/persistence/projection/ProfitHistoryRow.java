@@ -0,0 +1,12 @@
+package com.project.orders.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ProfitHistoryRow {
+    LocalDate getPeriodStart();
+    BigDecimal getOrderCreation();
+    BigDecimal getAdjustment();
+    BigDecimal getProfit();
+    Long getChanges();
+}
@@ -0,0 +1,10 @@
+package com.project.orders.persistence.projection;
+
+import java.time.ZonedDateTime;
+
+public interface ProfitRefreshProgress {
+    long getCompletedChunks();
+    long getRefreshedClients();
+    ZonedDateTime getFirstCompletedDate();
+    ZonedDateTime getLastCompletedDate();
+}
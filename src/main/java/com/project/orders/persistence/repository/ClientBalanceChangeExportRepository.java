@@ -0,0 +1,12 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.projection.ClientStatementRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ClientBalanceChangeExportRepository {
+    List<ClientStatementRow> findStatementRows(Specification<ClientBalanceChange> specification, Pageable pageable);
+}
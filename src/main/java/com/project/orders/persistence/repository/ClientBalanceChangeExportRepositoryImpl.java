@@ -0,0 +1,41 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.projection.ClientStatementRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class ClientBalanceChangeExportRepositoryImpl implements ClientBalanceChangeExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ClientStatementRow> findStatementRows(Specification<ClientBalanceChange> specification, Pageable pageable) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(ClientStatementRow.class);
+        var root = query.from(ClientBalanceChange.class);
+
+        query.select(criteriaBuilder.construct(ClientStatementRow.class,
+                        root.get("id"),
+                        root.get("order").get("id"),
+                        root.get("changeType"),
+                        root.get("amount"),
+                        root.get("createdDate")))
+                .where(specification.toPredicate(root, query, criteriaBuilder))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+}
@@ -1,42 +1,143 @@
 package com.project.orders.persistence.repository;
 
 import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.projection.ProfitHistoryRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ClientBalanceChangeRepository extends JpaRepository<ClientBalanceChange, UUID> {
+public interface ClientBalanceChangeRepository extends JpaRepository<ClientBalanceChange, UUID>, ClientBalanceChangeExportRepository {
 
     boolean existsByClientId(UUID clientId);
 
     @Query(value = """
-           INSERT INTO client_balance_changes(client_id, amount, change_type)
-           SELECT client_id, - SUM(amount), 'ADJUSTMENT'::client_balance_change_type
-           FROM client_balance_changes
-           GROUP BY client_id
+           WITH adjustments AS (
+               INSERT INTO client_balance_changes(client_id, amount, change_type)
+               SELECT client_id, - balance, 'ADJUSTMENT'::client_balance_change_type
+               FROM client_ledger_balances
+               WHERE client_id BETWEEN :rangeStart AND :rangeEnd
+                 AND balance <> 0
+               RETURNING client_id, amount
+           ),
+           balances AS (
+               INSERT INTO client_balances(client_id, balance)
+               SELECT client_id, amount
+               FROM adjustments
+               ON CONFLICT (client_id) DO UPDATE
+                   SET balance      = client_balances.balance + EXCLUDED.balance,
+                       updated_date = now()
+               RETURNING client_id, balance
+           )
+           INSERT INTO outbox_events(event_type, aggregate_id, payload)
+           SELECT 'CLIENT_BALANCE_REFRESHED'::outbox_event_type, client_id,
+                  jsonb_build_object('clientId', client_id, 'balance', balance)
+           FROM balances
+           RETURNING aggregate_id
            """, nativeQuery = true)
-    @Modifying
-    void refreshProfitForAllClients();
+    List<UUID> refreshProfitForClientRange(UUID rangeStart, UUID rangeEnd);
 
     @Query(value = """
-           INSERT INTO client_balance_changes(client_id, amount, change_type)
-           SELECT client_id, - SUM(amount), 'ADJUSTMENT'::client_balance_change_type
-           FROM client_balance_changes
-           WHERE client_id = :clientId
-           GROUP BY client_id
+           WITH adjustments AS (
+               INSERT INTO client_balance_changes(client_id, amount, change_type)
+               SELECT client_id, - balance, 'ADJUSTMENT'::client_balance_change_type
+               FROM client_ledger_balances
+               WHERE client_id = :clientId
+                 AND balance <> 0
+               RETURNING client_id, amount
+           ),
+           balances AS (
+               INSERT INTO client_balances(client_id, balance)
+               SELECT client_id, amount
+               FROM adjustments
+               ON CONFLICT (client_id) DO UPDATE
+                   SET balance      = client_balances.balance + EXCLUDED.balance,
+                       updated_date = now()
+               RETURNING client_id, balance
+           )
+           INSERT INTO outbox_events(event_type, aggregate_id, payload)
+           SELECT 'CLIENT_BALANCE_REFRESHED'::outbox_event_type, client_id,
+                  jsonb_build_object('clientId', client_id, 'balance', balance)
+           FROM balances
            """, nativeQuery = true)
     @Modifying
     void refreshProfitForClient(UUID clientId);
 
     @Query(value = """
-           SELECT COALESCE(SUM(amount), 0.0)
-           FROM client_balance_changes cbc
-           WHERE cbc.client_id = :clientId
+           SELECT crp.ledger_position::TEXT
+           FROM client_profit_rollup_positions crp
+           FOR UPDATE
+           """, nativeQuery = true)
+    String lockRollupPosition();
+
+    @Query(value = """
+           WITH watermark AS (SELECT crp.ledger_position AS rolled_up, pg_snapshot_xmin(pg_current_snapshot()) AS ledger_position
+                              FROM client_profit_rollup_positions crp),
+                changes AS (SELECT cbc.client_id,
+                                   (cbc.created_date AT TIME ZONE 'UTC')::DATE AS day,
+                                   COALESCE(SUM(cbc.amount) FILTER (WHERE cbc.change_type = 'ORDER_CREATION'), 0) AS order_creation,
+                                   COALESCE(SUM(cbc.amount) FILTER (WHERE cbc.change_type = 'ADJUSTMENT'), 0) AS adjustment,
+                                   COUNT(*) AS changes
+                            FROM client_balance_changes cbc
+                                     CROSS JOIN watermark w
+                            WHERE cbc.xact_id >= w.rolled_up
+                              AND cbc.xact_id < w.ledger_position
+                              AND cbc.client_id IS NOT NULL
+                            GROUP BY 1, 2),
+                rollups AS (INSERT INTO client_profit_rollups(client_id, day, order_creation, adjustment, changes)
+                            SELECT client_id, day, order_creation, adjustment, changes
+                            FROM changes
+                            ON CONFLICT (client_id, day) DO UPDATE
+                                SET order_creation = client_profit_rollups.order_creation + EXCLUDED.order_creation,
+                                    adjustment     = client_profit_rollups.adjustment + EXCLUDED.adjustment,
+                                    changes        = client_profit_rollups.changes + EXCLUDED.changes,
+                                    updated_date   = now())
+           UPDATE client_profit_rollup_positions
+           SET ledger_position = w.ledger_position,
+               updated_date    = now()
+           FROM watermark w
+           RETURNING (SELECT COALESCE(SUM(c.changes), 0) FROM changes c)
+           """, nativeQuery = true)
+    long rollUpProfit();
+
+    @Query(value = """
+           WITH days AS (SELECT cpr.day, cpr.order_creation, cpr.adjustment, cpr.changes
+                         FROM client_profit_rollups cpr
+                         WHERE cpr.client_id = :clientId
+                           AND cpr.day >= :from
+                           AND cpr.day < :to
+                         UNION ALL
+                         SELECT (cbc.created_date AT TIME ZONE 'UTC')::DATE,
+                                CASE WHEN cbc.change_type = 'ORDER_CREATION' THEN cbc.amount ELSE 0 END,
+                                CASE WHEN cbc.change_type = 'ADJUSTMENT' THEN cbc.amount ELSE 0 END,
+                                1
+                         FROM client_balance_changes cbc
+                                  CROSS JOIN client_profit_rollup_positions crp
+                         WHERE cbc.client_id = :clientId
+                           AND cbc.xact_id >= crp.ledger_position
+                           AND cbc.created_date >= CAST(:from AS TIMESTAMP) AT TIME ZONE 'UTC'
+                           AND cbc.created_date < CAST(:to AS TIMESTAMP) AT TIME ZONE 'UTC')
+           SELECT GREATEST(date_trunc(:unit, d.day::TIMESTAMP)::DATE, CAST(:from AS DATE)) AS periodStart,
+                  SUM(d.order_creation)                                                  AS orderCreation,
+                  SUM(d.adjustment)                                                      AS adjustment,
+                  SUM(d.order_creation) + SUM(d.adjustment)                              AS profit,
+                  SUM(d.changes)                                                         AS changes
+           FROM days d
+           GROUP BY 1
+           ORDER BY 1
            """, nativeQuery = true)
-    BigDecimal getClientProfit(UUID clientId);
+    List<ProfitHistoryRow> findProfitHistory(UUID clientId, LocalDate from, LocalDate to, String unit);
+
+    @Query(value = "SELECT create_monthly_partitions('client_balance_changes', :from, :to)", nativeQuery = true)
+    int createPartitions(ZonedDateTime from, ZonedDateTime to);
+
+    @Query(value = "SELECT detach_client_balance_change_partitions(:before)", nativeQuery = true)
+    List<String> detachPartitions(ZonedDateTime before);
+
 }
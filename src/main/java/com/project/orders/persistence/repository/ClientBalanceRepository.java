@@ -0,0 +1,143 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.ClientBalance;
+import com.project.orders.persistence.projection.ClientBalanceMismatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClientBalanceRepository extends JpaRepository<ClientBalance, UUID> {
+
+    @Query(value = """
+           SELECT COALESCE((SELECT cb.balance FROM client_balances cb WHERE cb.client_id = :clientId), 0.0)
+           """, nativeQuery = true)
+    BigDecimal getBalance(UUID clientId);
+
+    @Query(value = """
+           INSERT INTO client_balances(client_id, balance)
+           VALUES (:clientId, :amount)
+           ON CONFLICT (client_id) DO UPDATE
+               SET balance      = client_balances.balance + EXCLUDED.balance,
+                   updated_date = now()
+           """, nativeQuery = true)
+    @Modifying
+    void addToBalance(UUID clientId, BigDecimal amount);
+
+    @Query(value = """
+           SELECT COALESCE((SELECT clb.balance FROM client_ledger_balances clb WHERE clb.client_id = :clientId), 0.0)
+           """, nativeQuery = true)
+    BigDecimal getLedgerBalance(UUID clientId);
+
+    @Query(value = """
+           SELECT csp.ledger_position::TEXT
+           FROM client_balance_snapshot_positions csp
+           FOR UPDATE
+           """, nativeQuery = true)
+    String lockSnapshotPosition();
+
+    @Query(value = "SELECT MIN(a.xact_start) FROM pg_stat_activity a", nativeQuery = true)
+    Instant findOldestTransactionStart();
+
+    @Query(value = """
+           WITH unsettled AS MATERIALIZED (SELECT LEAST(CAST(:oldestTransactionStart AS TIMESTAMPTZ) - INTERVAL '1 hour',
+                                                        (SELECT MIN(cbc.created_date)
+                                                         FROM client_balance_changes cbc
+                                                         WHERE cbc.xact_id >= pg_snapshot_xmin(pg_current_snapshot()))) AS ledger_date),
+                watermark AS (SELECT csp.ledger_position AS scanned,
+                                     pg_snapshot_xmin(pg_current_snapshot()) AS ledger_position,
+                                     u.ledger_date
+                              FROM client_balance_snapshot_positions csp
+                                       CROSS JOIN unsettled u),
+                pending AS (SELECT c.client_id,
+                                   cbs.balance,
+                                   cbs.ledger_position,
+                                   cbs.ledger_date,
+                                   COALESCE(cbs.pending_changes, 0) + c.changes AS changes
+                            FROM (SELECT cbc.client_id, COUNT(*) AS changes
+                                  FROM client_balance_changes cbc
+                                           CROSS JOIN watermark w
+                                  WHERE cbc.xact_id >= w.scanned
+                                    AND cbc.xact_id < w.ledger_position
+                                    AND cbc.client_id IS NOT NULL
+                                  GROUP BY cbc.client_id) c
+                                     LEFT JOIN LATERAL (SELECT s.balance, s.ledger_position, s.ledger_date, s.pending_changes
+                                                        FROM client_balance_snapshots s
+                                                        WHERE s.client_id = c.client_id
+                                                        LIMIT 1) cbs ON TRUE),
+                snapshots AS (INSERT INTO client_balance_snapshots(client_id, balance, ledger_position, ledger_date, pending_changes)
+                              SELECT p.client_id, COALESCE(p.balance, 0.0) + COALESCE(delta.amount, 0.0), w.ledger_position,
+                                     w.ledger_date, 0
+                              FROM pending p
+                                       CROSS JOIN watermark w
+                                       CROSS JOIN LATERAL (SELECT SUM(cbc.amount) AS amount
+                                                           FROM client_balance_changes cbc
+                                                           WHERE cbc.client_id = p.client_id
+                                                             AND cbc.xact_id >= COALESCE(p.ledger_position, '0'::XID8)
+                                                             AND cbc.xact_id < w.ledger_position
+                                                             AND cbc.created_date >= COALESCE(p.ledger_date, '-infinity')) delta
+                              WHERE p.changes >= :minChanges
+                              UNION ALL
+                              SELECT p.client_id, COALESCE(p.balance, 0.0), COALESCE(p.ledger_position, '0'::XID8),
+                                     COALESCE(p.ledger_date, '-infinity'), p.changes
+                              FROM pending p
+                              WHERE p.changes < :minChanges
+                              ON CONFLICT (client_id) DO UPDATE
+                                  SET balance         = EXCLUDED.balance,
+                                      ledger_position = EXCLUDED.ledger_position,
+                                      ledger_date     = EXCLUDED.ledger_date,
+                                      pending_changes = EXCLUDED.pending_changes,
+                                      created_date    = CASE
+                                                            WHEN EXCLUDED.pending_changes = 0 THEN now()
+                                                            ELSE client_balance_snapshots.created_date
+                                                        END
+                              RETURNING pending_changes)
+           UPDATE client_balance_snapshot_positions
+           SET ledger_position = w.ledger_position,
+               updated_date    = now()
+           FROM watermark w
+           RETURNING (SELECT COUNT(*)::INT FROM snapshots s WHERE s.pending_changes = 0)
+           """, nativeQuery = true)
+    int createSnapshots(int minChanges, Instant oldestTransactionStart);
+
+    @Query(value = """
+           SELECT c.id                          AS clientId,
+                  COALESCE(cb.balance, 0.0)     AS balance,
+                  COALESCE(ledger.balance, 0.0) AS ledgerBalance
+           FROM clients c
+                    LEFT JOIN client_balances cb ON cb.client_id = c.id
+                    LEFT JOIN client_ledger_balances ledger ON ledger.client_id = c.id
+           WHERE COALESCE(cb.balance, 0.0) <> COALESCE(ledger.balance, 0.0)
+           """, nativeQuery = true)
+    List<ClientBalanceMismatch> findMismatchesWithLedger();
+
+    @Query(value = """
+           SELECT cb.client_id
+           FROM client_balances cb
+           WHERE cb.client_id = :clientId
+           FOR UPDATE
+           """, nativeQuery = true)
+    List<UUID> lockByClientId(UUID clientId);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    int lockForTransaction(long key);
+
+    @Query(value = """
+           INSERT INTO client_balances(client_id, balance)
+           SELECT :clientId, COALESCE(SUM(clb.balance), 0.0)
+           FROM client_ledger_balances clb
+           WHERE clb.client_id = :clientId
+           ON CONFLICT (client_id) DO UPDATE
+               SET balance      = EXCLUDED.balance,
+                   updated_date = now()
+           """, nativeQuery = true)
+    @Modifying
+    void recalculateFromLedger(UUID clientId);
+
+}
@@ -1,13 +1,47 @@
 package com.project.orders.persistence.repository;
 
 import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.projection.ClientSnapshot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID>, JpaSpecificationExecutor<Client> {
     boolean existsByEmail(String email);
+
+    Optional<ClientSnapshot> findSnapshotById(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+           SELECT new com.project.orders.persistence.projection.ClientSnapshot(c.id, c.name, c.email, c.active)
+           FROM Client c
+           WHERE c.id IN :ids
+           ORDER BY c.id
+           """)
+    List<ClientSnapshot> findSnapshotsForShareByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT c.email FROM Client c WHERE c.email IS NOT NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<String> streamEmails();
+
+    @Query(value = """
+           SELECT c.version + COALESCE(cb.version + 1, 0)
+           FROM clients c
+                    LEFT JOIN client_balances cb ON cb.client_id = c.id
+           WHERE c.id = :id
+           """, nativeQuery = true)
+    Optional<Long> findVersionById(UUID id);
 }
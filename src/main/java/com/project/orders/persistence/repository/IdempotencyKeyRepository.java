@@ -0,0 +1,62 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.enums.IdempotencyKeyStatus;
+import com.project.orders.persistence.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, UUID> {
+
+    Optional<IdempotencyKey> findByIdempotencyKeyAndStatusAndCreatedDateAfter(String idempotencyKey, IdempotencyKeyStatus status,
+                                                                             ZonedDateTime createdAfter);
+
+    @Query(value = """
+           INSERT INTO idempotency_keys(idempotency_key, request_hash, status)
+           VALUES (:idempotencyKey, :requestHash, 'IN_PROGRESS')
+           ON CONFLICT (idempotency_key) DO UPDATE
+               SET request_hash = EXCLUDED.request_hash,
+                   status       = EXCLUDED.status,
+                   status_code  = NULL,
+                   response     = NULL,
+                   message      = NULL,
+                   created_date = now()
+               WHERE idempotency_keys.created_date < :createdBefore
+                  OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.created_date < :claimedBefore)
+           """, nativeQuery = true)
+    @Modifying
+    int claim(String idempotencyKey, String requestHash, ZonedDateTime createdBefore, ZonedDateTime claimedBefore);
+
+    @Query(value = """
+           UPDATE idempotency_keys
+           SET status      = 'COMPLETED',
+               status_code = :statusCode,
+               response    = CAST(:response AS JSONB),
+               message     = :message
+           WHERE idempotency_key = :idempotencyKey
+             AND request_hash = :requestHash
+             AND status = 'IN_PROGRESS'
+           """, nativeQuery = true)
+    @Modifying
+    int complete(String idempotencyKey, String requestHash, int statusCode, String response, String message);
+
+    @Query(value = """
+           DELETE FROM idempotency_keys
+           WHERE idempotency_key = :idempotencyKey
+             AND request_hash = :requestHash
+             AND status = 'IN_PROGRESS'
+           """, nativeQuery = true)
+    @Modifying
+    void release(String idempotencyKey, String requestHash);
+
+    @Query("DELETE FROM IdempotencyKey ik WHERE ik.createdDate < :createdBefore")
+    @Modifying
+    int deleteCreatedBefore(ZonedDateTime createdBefore);
+
+}
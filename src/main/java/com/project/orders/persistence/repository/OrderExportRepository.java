@@ -0,0 +1,12 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderExportRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface OrderExportRepository {
+    List<OrderExportRow> findExportRows(Specification<Order> specification, Pageable pageable);
+}
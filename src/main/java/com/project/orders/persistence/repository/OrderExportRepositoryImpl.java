@@ -0,0 +1,46 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderExportRow> findExportRows(Specification<Order> specification, Pageable pageable) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(OrderExportRow.class);
+        var root = query.from(Order.class);
+
+        query.select(criteriaBuilder.construct(OrderExportRow.class,
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("price"),
+                        root.get("status"),
+                        root.get("rejectionReason"),
+                        root.get("supplier").get("id"),
+                        root.get("consumer").get("id"),
+                        root.get("startProcessingDate"),
+                        root.get("endProcessingDate"),
+                        root.get("createdDate")))
+                .where(specification.toPredicate(root, query, criteriaBuilder))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrderReadRepository {
+    List<OrderRow> findRows(Specification<Order> specification, Pageable pageable, boolean withProfit);
+    Optional<OrderRow> findRowById(UUID id, boolean withProfit);
+}
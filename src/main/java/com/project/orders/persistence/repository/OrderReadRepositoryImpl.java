@@ -0,0 +1,90 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.model.ClientBalance;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class OrderReadRepositoryImpl implements OrderReadRepository {
+
+    private static final String ID = "id";
+    private static final String SUPPLIER = "supplier";
+    private static final String CONSUMER = "consumer";
+    private static final String CLIENT_ID = "clientId";
+    private static final String BALANCE = "balance";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderRow> findRows(Specification<Order> specification, Pageable pageable, boolean withProfit) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(OrderRow.class);
+        var root = query.from(Order.class);
+        var supplier = root.<Order, Client>join(SUPPLIER);
+        var consumer = root.<Order, Client>join(CONSUMER);
+
+        var selections = new ArrayList<Selection<?>>(List.of(
+                root.get(ID), root.get("name"), root.get("price"), root.get("startProcessingDate"),
+                root.get("endProcessingDate"), root.get("status"), root.get("createdDate")));
+        selections.addAll(getClientSelections(supplier, query, criteriaBuilder, withProfit));
+        selections.addAll(getClientSelections(consumer, query, criteriaBuilder, withProfit));
+
+        query.select(criteriaBuilder.construct(OrderRow.class, selections.toArray(new Selection<?>[0])))
+                .where(specification.toPredicate(root, query, criteriaBuilder));
+
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public Optional<OrderRow> findRowById(UUID id, boolean withProfit) {
+        Specification<Order> specification = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(ID), id);
+        return findRows(specification, Pageable.unpaged(), withProfit).stream()
+                .findFirst();
+    }
+
+    private static List<Selection<?>> getClientSelections(From<Order, Client> client, AbstractQuery<?> query,
+                                                          CriteriaBuilder criteriaBuilder, boolean withProfit) {
+        return List.of(client.get(ID), client.get("name"), client.get("email"), client.get("address"),
+                client.get("active"), client.get("createdDate"), getProfit(client, query, criteriaBuilder, withProfit));
+    }
+
+    private static Expression<BigDecimal> getProfit(From<Order, Client> client, AbstractQuery<?> query,
+                                                    CriteriaBuilder criteriaBuilder, boolean withProfit) {
+        if (!withProfit) {
+            return criteriaBuilder.nullLiteral(BigDecimal.class);
+        }
+
+        var balanceQuery = query.subquery(BigDecimal.class);
+        var balance = balanceQuery.from(ClientBalance.class);
+        balanceQuery.select(balance.get(BALANCE))
+                .where(criteriaBuilder.equal(balance.get(CLIENT_ID), client.get(ID)));
+        return criteriaBuilder.coalesce(balanceQuery, BigDecimal.ZERO);
+    }
+
+}
@@ -1,25 +1,87 @@
 package com.project.orders.persistence.repository;
 
+import com.project.orders.enums.OrderStatus;
 import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.OrderKey;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order>,
+        OrderReadRepository, OrderExportRepository {
+
+    @Override
+    @EntityGraph(attributePaths = {"supplier", "consumer"})
+    Optional<Order> findById(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(UUID id);
 
     @Query(value = """
            SELECT EXISTS(
                SELECT 1
-               FROM orders o
-               WHERE o.name = :name
-                 AND o.supplier_id = :supplierId
-                 AND o.consumer_id = :consumerId
-           ) 
+               FROM order_keys ok
+               WHERE ok.name = :name
+                 AND ok.supplier_id = :supplierId
+                 AND ok.consumer_id = :consumerId
+           )
            """, nativeQuery = true)
     boolean isSimilarOrderExist(String name, UUID supplierId, UUID consumerId);
 
+    @Query("""
+           SELECT new com.project.orders.persistence.projection.OrderKey(o.name, o.supplier.id, o.consumer.id)
+           FROM Order o
+           WHERE o.name IN :names
+             AND o.status <> :excludedStatus
+           """)
+    List<OrderKey> findKeysByNameIn(Collection<String> names, OrderStatus excludedStatus);
+
+    @Query("""
+           SELECT new com.project.orders.persistence.projection.OrderKey(o.name, o.supplier.id, o.consumer.id)
+           FROM Order o
+           WHERE o.status <> :excludedStatus
+           """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<OrderKey> streamKeys(OrderStatus excludedStatus);
+
+    @Query("SELECT o.consumer.id FROM Order o WHERE o.id = :id")
+    Optional<UUID> findConsumerIdById(UUID id);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses ORDER BY o.createdDate")
+    List<UUID> findIdsByStatusIn(Collection<OrderStatus> statuses);
+
+    @Query(value = """
+           SELECT o.version + s.version + c.version
+                      + CASE WHEN :withProfit THEN COALESCE(sb.version + 1, 0) + COALESCE(cb.version + 1, 0) ELSE 0 END
+           FROM orders o
+                    JOIN clients s ON s.id = o.supplier_id
+                    JOIN clients c ON c.id = o.consumer_id
+                    LEFT JOIN client_balances sb ON sb.client_id = o.supplier_id
+                    LEFT JOIN client_balances cb ON cb.client_id = o.consumer_id
+           WHERE o.id = :id
+           """, nativeQuery = true)
+    Optional<Long> findVersionById(UUID id, boolean withProfit);
+
+    @Query(value = "SELECT create_monthly_partitions('orders', :from, :to)", nativeQuery = true)
+    int createPartitions(ZonedDateTime from, ZonedDateTime to);
+
+    @Query(value = "SELECT detach_order_partitions(:before)", nativeQuery = true)
+    List<String> detachPartitions(ZonedDateTime before);
+
 }
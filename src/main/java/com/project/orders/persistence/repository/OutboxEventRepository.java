@@ -0,0 +1,64 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.OutboxEvent;
+import com.project.orders.persistence.projection.OutboxPublication;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockForPublishing(long key);
+
+    @Query(value = """
+           WITH batch AS (
+               SELECT oe.id, ROW_NUMBER() OVER (ORDER BY oe.created_date, oe.id) AS n
+               FROM outbox_events oe
+               WHERE oe.position IS NULL
+               ORDER BY oe.created_date, oe.id
+               LIMIT :batchSize
+           ),
+           last AS (
+               SELECT COALESCE(MAX(oe.position), 0) AS position
+               FROM outbox_events oe
+           )
+           UPDATE outbox_events oe
+           SET position       = last.position + batch.n,
+               published_date = now()
+           FROM batch, last
+           WHERE oe.id = batch.id
+           RETURNING oe.position                                                     AS position,
+                     EXTRACT(EPOCH FROM oe.published_date - oe.created_date) * 1000 AS lagMillis
+           """, nativeQuery = true)
+    List<OutboxPublication> publishBatch(int batchSize);
+
+    @Query("SELECT COALESCE(MAX(oe.position), 0) FROM OutboxEvent oe")
+    long getLastPosition();
+
+    List<OutboxEvent> findByPositionGreaterThanAndPositionLessThanEqualOrderByPosition(long after, long upTo, Limit limit);
+
+    @Query(value = """
+           WITH expired AS (
+               SELECT oe.id
+               FROM outbox_events oe
+               WHERE oe.published_date < :publishedBefore
+                 AND oe.position < (SELECT MAX(last.position) FROM outbox_events last)
+               ORDER BY oe.published_date
+               LIMIT :limit
+           )
+           DELETE FROM outbox_events oe
+           USING expired
+           WHERE oe.id = expired.id
+           """, nativeQuery = true)
+    @Modifying
+    int deletePublishedBefore(ZonedDateTime publishedBefore, int limit);
+
+}
@@ -0,0 +1,39 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.persistence.model.ProfitRefreshChunk;
+import com.project.orders.persistence.projection.ProfitRefreshProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProfitRefreshChunkRepository extends JpaRepository<ProfitRefreshChunk, UUID> {
+
+    @Query(value = """
+           SELECT *
+           FROM profit_refresh_chunks prc
+           WHERE prc.job_id = :jobId
+             AND prc.completed_date IS NULL
+           ORDER BY prc.chunk_index
+           LIMIT 1
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    Optional<ProfitRefreshChunk> claimPendingChunk(UUID jobId);
+
+    boolean existsByJobIdAndCompletedDateIsNull(UUID jobId);
+
+    @Query("""
+           SELECT COUNT(prc)                                AS completedChunks,
+                  COALESCE(SUM(prc.refreshedClients), 0)    AS refreshedClients,
+                  MIN(prc.completedDate)                    AS firstCompletedDate,
+                  MAX(prc.completedDate)                    AS lastCompletedDate
+           FROM ProfitRefreshChunk prc
+           WHERE prc.job.id = :jobId
+             AND prc.completedDate IS NOT NULL
+           """)
+    ProfitRefreshProgress getProgress(UUID jobId);
+
+}
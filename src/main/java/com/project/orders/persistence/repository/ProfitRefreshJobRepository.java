@@ -0,0 +1,24 @@
+package com.project.orders.persistence.repository;
+
+import com.project.orders.enums.ProfitRefreshStatus;
+import com.project.orders.persistence.model.ProfitRefreshJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProfitRefreshJobRepository extends JpaRepository<ProfitRefreshJob, UUID> {
+
+    Optional<ProfitRefreshJob> findFirstByStatus(ProfitRefreshStatus status);
+
+    @Query("SELECT prj.id FROM ProfitRefreshJob prj WHERE prj.status = :status ORDER BY prj.createdDate")
+    List<UUID> findIdsByStatus(ProfitRefreshStatus status);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('profit_refresh_jobs'))", nativeQuery = true)
+    int lockJobCreation();
+
+}
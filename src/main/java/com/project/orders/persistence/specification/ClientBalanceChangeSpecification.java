@@ -0,0 +1,47 @@
+package com.project.orders.persistence.specification;
+
+import com.project.orders.persistence.model.ClientBalanceChange;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.UUID;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ClientBalanceChangeSpecification {
+
+    private static final String ID = "id";
+    private static final String CLIENT = "client";
+    private static final String CREATED_DATE = "createdDate";
+
+    public static Specification<ClientBalanceChange> get(UUID clientId, ZonedDateTime createdFrom, ZonedDateTime createdTo) {
+        return (root, query, criteriaBuilder) ->
+                getPredicate(clientId, createdFrom, createdTo, root, query, criteriaBuilder);
+    }
+
+    private static Predicate getPredicate(UUID clientId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                          Root<ClientBalanceChange> root, CriteriaQuery<?> query,
+                                          CriteriaBuilder criteriaBuilder) {
+        var predicates = new ArrayList<Predicate>();
+        predicates.add(criteriaBuilder.equal(root.get(CLIENT).get(ID), clientId));
+
+        if (Objects.nonNull(createdFrom)) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(CREATED_DATE), createdFrom));
+        }
+
+        if (Objects.nonNull(createdTo)) {
+            predicates.add(criteriaBuilder.lessThan(root.get(CREATED_DATE), createdTo));
+        }
+
+        query.orderBy(criteriaBuilder.asc(root.get(CREATED_DATE)), criteriaBuilder.asc(root.get(ID)));
+        return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    }
+
+}
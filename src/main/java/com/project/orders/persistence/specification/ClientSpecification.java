@@ -10,17 +10,18 @@ import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
 import java.util.*;
 
+import static com.project.orders.persistence.function.TrigramFunctionContributor.WORD_SIMILARITY_MATCH;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ClientSpecification {
 
     private static final String ID = "id";
-    private static final String NAME = "name";
-    private static final String EMAIL = "email";
-    private static final String ADDRESS = "address";
-    private static final String BALANCE_CHANGES = "balanceChanges";
-    private static final String AMOUNT = "amount";
+    private static final String SEARCH_TEXT = "searchText";
+    private static final String PROFIT = "profit";
     private static final String CREATED_DATE = "createdDate";
     private static final String CLIENT = "client";
+    private static final String WORD_SIMILARITY = "word_similarity";
+    private static final char LIKE_ESCAPE = '\\';
 
     public static Specification<Client> get(String search, BigDecimal profitFrom, BigDecimal profitTo) {
         return (root, query, criteriaBuilder) ->
@@ -30,70 +31,52 @@ public final class ClientSpecification {
     private static Predicate getPredicate(String search, BigDecimal profitFrom, BigDecimal profitTo, Root<Client> root,
                                           CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         var predicates = new ArrayList<Predicate>();
+        var orders = new ArrayList<Order>();
 
         if (StringUtils.isNotBlank(search)) {
             predicates.add(getPredicateForSearch(search, root, criteriaBuilder));
+            orders.add(criteriaBuilder.desc(getSearchSimilarity(search, root, criteriaBuilder)));
         }
 
         if (Objects.nonNull(profitFrom) || Objects.nonNull(profitTo)) {
-            addHavingClauseForProfitRange(profitFrom, profitTo, root, query, criteriaBuilder);
+            addPredicatesForProfitRange(profitFrom, profitTo, root, criteriaBuilder, predicates);
         }
 
-        query.distinct(true);
-        query.orderBy(criteriaBuilder.desc(root.get(CREATED_DATE)));
+        orders.add(criteriaBuilder.desc(root.get(CREATED_DATE)));
+        query.orderBy(orders);
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
     private static Predicate getPredicateForSearch(String search, Root<Client> root, CriteriaBuilder cb) {
-        var predicates = new ArrayList<Predicate>();
-
-        var searchStrings = new HashSet<String>();
-        searchStrings.add(search);
-
-        searchStrings.addAll(splitStringOnPartsWithExactLength(search, 3));
+        var searchText = root.<String>get(SEARCH_TEXT);
+        var normalizedSearch = search.toLowerCase();
 
-        searchStrings.forEach(searchPart -> {
-            var likeExp = "%%%s%%".formatted(searchPart)
-                    .toLowerCase();
+        var containsSearch = cb.like(searchText, "%%%s%%".formatted(escapeLikePattern(normalizedSearch)), LIKE_ESCAPE);
+        var similarToSearch = cb.isTrue(cb.function(WORD_SIMILARITY_MATCH, Boolean.class, cb.literal(normalizedSearch), searchText));
 
-            predicates.add(cb.like(cb.lower(root.get(NAME)), likeExp));
-            predicates.add(cb.like(cb.lower(root.get(EMAIL)), likeExp));
-            predicates.add(cb.like(cb.lower(root.get(ADDRESS)), likeExp));
-        });
+        return cb.or(containsSearch, similarToSearch);
+    }
 
-        return cb.or(predicates.toArray(new Predicate[0]));
+    private static Expression<Double> getSearchSimilarity(String search, Root<Client> root, CriteriaBuilder cb) {
+        return cb.function(WORD_SIMILARITY, Double.class, cb.literal(search.toLowerCase()), root.get(SEARCH_TEXT));
     }
 
-    private static void addHavingClauseForProfitRange(BigDecimal profitFrom, BigDecimal profitTo, Root<Client> root,
-                                                      CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
-        var predicates = new ArrayList<Predicate>();
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 
-        var balanceJoin = root.join(BALANCE_CHANGES, JoinType.LEFT);
-        var sumExpression = criteriaBuilder.coalesce(criteriaBuilder.sum(balanceJoin.get(AMOUNT)), BigDecimal.ZERO);
+    private static void addPredicatesForProfitRange(BigDecimal profitFrom, BigDecimal profitTo, Root<Client> root,
+                                                    CriteriaBuilder criteriaBuilder, List<Predicate> predicates) {
+        var profit = root.<BigDecimal>get(PROFIT);
 
         if (Objects.nonNull(profitFrom)) {
-            predicates.add(criteriaBuilder.greaterThanOrEqualTo(sumExpression, profitFrom));
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(profit, profitFrom));
         }
 
         if (Objects.nonNull(profitTo)) {
-            predicates.add(criteriaBuilder.lessThanOrEqualTo(sumExpression, profitTo));
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(profit, profitTo));
         }
-
-        query.groupBy(root);
-        query.having(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
-    }
-
-    private static List<String> splitStringOnPartsWithExactLength(String string, int length) {
-        if (string.length() <= length) {
-            return List.of(string);
-        }
-
-        var parts = new ArrayList<String>();
-
-        for (int i = 0; i + length <= string.length(); i++) {
-            parts.add(string.substring(i, i + length));
-        }
-
-        return parts;
     }
 }
@@ -0,0 +1,42 @@
+package com.project.orders.persistence.specification;
+
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.model.BaseEntity;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+public record KeysetCursor(ZonedDateTime createdDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor of(BaseEntity entity) {
+        return new KeysetCursor(entity.getCreatedDate(), entity.getId());
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var createdDate = StringUtils.substringBefore(decoded, SEPARATOR);
+            var id = StringUtils.substringAfter(decoded, SEPARATOR);
+            return new KeysetCursor(ZonedDateTime.parse(createdDate), UUID.fromString(id));
+        } catch (RuntimeException e) {
+            throw new ApiException(400, "Cursor is not valid", e);
+        }
+    }
+
+    public String encode() {
+        var value = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
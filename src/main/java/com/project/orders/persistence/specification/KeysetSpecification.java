@@ -0,0 +1,58 @@
+package com.project.orders.persistence.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetSpecification {
+
+    private static final String ID = "id";
+    private static final String CREATED_DATE = "createdDate";
+
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, CREATED_DATE, ID);
+    public static final Sort ASCENDING_SORT = Sort.by(Sort.Direction.ASC, CREATED_DATE, ID);
+
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> Objects.isNull(cursor)
+                ? null
+                : getPredicate(cursor, root, criteriaBuilder);
+    }
+
+    public static <T> Specification<T> afterAscending(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> Objects.isNull(cursor)
+                ? null
+                : getAscendingPredicate(cursor, root, criteriaBuilder);
+    }
+
+    private static Predicate getPredicate(KeysetCursor cursor, Root<?> root, CriteriaBuilder criteriaBuilder) {
+        var createdDate = root.<ZonedDateTime>get(CREATED_DATE);
+        var id = root.<UUID>get(ID);
+
+        return criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(createdDate, cursor.createdDate()),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(createdDate, cursor.createdDate()),
+                        criteriaBuilder.lessThan(id, cursor.id())));
+    }
+
+    private static Predicate getAscendingPredicate(KeysetCursor cursor, Root<?> root, CriteriaBuilder criteriaBuilder) {
+        var createdDate = root.<ZonedDateTime>get(CREATED_DATE);
+        var id = root.<UUID>get(ID);
+
+        return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(createdDate, cursor.createdDate()),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(createdDate, cursor.createdDate()),
+                        criteriaBuilder.greaterThan(id, cursor.id())));
+    }
+
+}
@@ -9,6 +9,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.UUID;
@@ -22,20 +23,32 @@ public final class OrderSpecification {
     private static final String CREATED_DATE = "createdDate";
 
     public static Specification<Order> get(UUID supplierId, UUID consumerId) {
+        return get(supplierId, consumerId, null, null);
+    }
+
+    public static Specification<Order> get(UUID supplierId, UUID consumerId, ZonedDateTime createdFrom, ZonedDateTime createdTo) {
         return (root, query, criteriaBuilder) ->
-                getPredicate(supplierId, consumerId, root, query, criteriaBuilder);
+                getPredicate(supplierId, consumerId, createdFrom, createdTo, root, query, criteriaBuilder);
     }
 
-    private static Predicate getPredicate(UUID supplierId, UUID consumerId, Root<Order> root, CriteriaQuery<?> query,
-                                          CriteriaBuilder criteriaBuilder) {
+    private static Predicate getPredicate(UUID supplierId, UUID consumerId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                          Root<Order> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         var predicates = new ArrayList<Predicate>();
 
         if (Objects.nonNull(supplierId)) {
-            predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get(SUPPLIER).get(ID), supplierId));
+            predicates.add(criteriaBuilder.equal(root.get(SUPPLIER).get(ID), supplierId));
         }
 
         if (Objects.nonNull(consumerId)) {
-            predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get(CONSUMER).get(ID), supplierId));
+            predicates.add(criteriaBuilder.equal(root.get(CONSUMER).get(ID), consumerId));
+        }
+
+        if (Objects.nonNull(createdFrom)) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(CREATED_DATE), createdFrom));
+        }
+
+        if (Objects.nonNull(createdTo)) {
+            predicates.add(criteriaBuilder.lessThan(root.get(CREATED_DATE), createdTo));
         }
 
         query.orderBy(criteriaBuilder.desc(root.get(CREATED_DATE)));
@@ -0,0 +1,97 @@
+package com.project.orders.service.cache;
+
+import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.VersionedResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.ETag;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+
+    public static final String CLIENT_RESPONSES = "clientResponses";
+    public static final String ORDER_RESPONSES = "orderResponses";
+
+    private final Cache clientResponses;
+    private final Cache orderResponses;
+
+    public ResponseCache(CacheManager cacheManager) {
+        this.clientResponses = Objects.requireNonNull(cacheManager.getCache(CLIENT_RESPONSES));
+        this.orderResponses = Objects.requireNonNull(cacheManager.getCache(ORDER_RESPONSES));
+    }
+
+    public VersionedResponse<ClientResponse> getClient(UUID id, String etag, String ifNoneMatch,
+                                                       Supplier<ClientResponse> loader) {
+        return get(clientResponses, id, etag, ifNoneMatch, loader);
+    }
+
+    public VersionedResponse<OrderResponse> getOrder(UUID id, boolean withProfit, String etag, String ifNoneMatch,
+                                                     Supplier<OrderResponse> loader) {
+        return get(orderResponses, new SimpleKey(id, withProfit), etag, ifNoneMatch, loader);
+    }
+
+    public void evictClientsAfterCommit(Collection<UUID> ids) {
+        var clientIds = List.copyOf(ids);
+        afterCommit(() -> clientIds.forEach(clientResponses::evict));
+    }
+
+    public void evictOrderAfterCommit(UUID id) {
+        afterCommit(() -> {
+            orderResponses.evict(new SimpleKey(id, false));
+            orderResponses.evict(new SimpleKey(id, true));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> VersionedResponse<T> get(Cache cache, Object key, String etag, String ifNoneMatch, Supplier<T> loader) {
+        if (isNotModified(etag, ifNoneMatch)) {
+            return VersionedResponse.notModified(etag);
+        }
+
+        var cached = (VersionedResponse<T>) cache.get(key, VersionedResponse.class);
+
+        if (Objects.nonNull(cached) && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        var response = new VersionedResponse<>(etag, loader.get());
+        cache.put(key, response);
+        return response;
+    }
+
+    private static boolean isNotModified(String etag, String ifNoneMatch) {
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+
+        var current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+}
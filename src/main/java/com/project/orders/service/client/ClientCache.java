@@ -0,0 +1,48 @@
+package com.project.orders.service.client;
+
+import com.project.orders.persistence.projection.ClientSnapshot;
+import com.project.orders.persistence.repository.ClientRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class ClientCache {
+
+    public static final String CLIENTS = "clients";
+
+    private final ClientRepository clientRepository;
+    private final Cache cache;
+
+    public ClientCache(ClientRepository clientRepository, CacheManager cacheManager) {
+        this.clientRepository = clientRepository;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CLIENTS));
+    }
+
+    @Cacheable(cacheNames = CLIENTS, unless = "#result == null")
+    public Optional<ClientSnapshot> findById(UUID id) {
+        return clientRepository.findSnapshotById(id);
+    }
+
+    public void evictAfterCommit(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(id);
+            }
+        });
+    }
+
+}
@@ -2,16 +2,25 @@ package com.project.orders.service.client;
 
 import com.project.orders.dto.request.ClientRequest;
 import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.CursorPageResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.ProfitHistoryResponse;
+import com.project.orders.dto.response.VersionedResponse;
+import com.project.orders.enums.ProfitGranularity;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClientService {
     ClientResponse getById(UUID id);
+    VersionedResponse<ClientResponse> getVersionedById(UUID id, String ifNoneMatch);
     PageResponse<ClientResponse> getAll(String search, BigDecimal profitFrom, BigDecimal profitTo, Pageable pageable);
+    CursorPageResponse<ClientResponse> getAll(String search, BigDecimal profitFrom, BigDecimal profitTo, String cursor, int size);
     ClientResponse create(ClientRequest clientRequest);
     ClientResponse update(UUID id, ClientRequest clientRequest);
     ClientResponse setActive(UUID id, boolean active);
+    List<ProfitHistoryResponse> getProfitHistory(UUID id, LocalDate from, LocalDate to, ProfitGranularity granularity);
 }
@@ -2,29 +2,51 @@ package com.project.orders.service.client;
 
 import com.project.orders.dto.request.ClientRequest;
 import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.CursorPageResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.ProfitHistoryResponse;
+import com.project.orders.dto.response.VersionedResponse;
+import com.project.orders.enums.OutboxEventType;
+import com.project.orders.enums.ProfitGranularity;
 import com.project.orders.exception.ApiException;
 import com.project.orders.mapper.ClientMapper;
 import com.project.orders.persistence.model.Client;
 import com.project.orders.persistence.repository.ClientRepository;
 import com.project.orders.persistence.specification.ClientSpecification;
+import com.project.orders.persistence.specification.KeysetCursor;
+import com.project.orders.persistence.specification.KeysetSpecification;
+import com.project.orders.service.cache.ResponseCache;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.filter.ExistenceFilters;
+import com.project.orders.service.outbox.OutboxEvents;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+import static com.project.orders.enums.OutboxEventType.*;
+import static com.project.orders.service.validation.RequestValidation.validatePageSize;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final ClientBalanceChangeService clientBalanceChangeService;
     private final ClientMapper clientMapper;
+    private final ClientCache clientCache;
+    private final ResponseCache responseCache;
+    private final ExistenceFilters existenceFilters;
+    private final OutboxEvents outboxEvents;
 
     @Transactional(readOnly = true)
     @Override
@@ -33,28 +55,53 @@ public class ClientServiceImpl implements ClientService {
         return clientMapper.toDto(client);
     }
 
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public VersionedResponse<ClientResponse> getVersionedById(UUID id, String ifNoneMatch) {
+        var version = clientRepository.findVersionById(id)
+                .orElseThrow(() -> new ApiException(404, "Client not found by id"));
+        return responseCache.getClient(id, String.valueOf(version), ifNoneMatch, () -> getById(id));
+    }
+
     @Transactional(readOnly = true)
     @Override
     public PageResponse<ClientResponse> getAll(String search, BigDecimal profitFrom, BigDecimal profitTo, Pageable pageable) {
-        if (Objects.nonNull(profitFrom) && Objects.nonNull(profitTo)
-                && profitFrom.compareTo(profitTo) > 0) {
-            throw new ApiException(400, "Profit from must be greater than or equal to profit to");
-        }
+        validateProfitRange(profitFrom, profitTo);
 
         var specification = ClientSpecification.get(search, profitFrom, profitTo);
         var page = clientRepository.findAll(specification, pageable);
         return clientMapper.toPageResponse(page);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<ClientResponse> getAll(String search, BigDecimal profitFrom, BigDecimal profitTo,
+                                                     String cursor, int size) {
+        validateProfitRange(profitFrom, profitTo);
+        validatePageSize(size);
+
+        var specification = ClientSpecification.get(search, profitFrom, profitTo)
+                .and(KeysetSpecification.<Client>after(KeysetCursor.decode(cursor)));
+        var clients = clientRepository.findBy(specification, query -> query
+                .sortBy(KeysetSpecification.SORT)
+                .limit(size + 1)
+                .all());
+        return clientMapper.toCursorPageResponse(clients, size);
+    }
+
     @Override
     public ClientResponse create(ClientRequest clientRequest) {
-        if (clientRepository.existsByEmail(clientRequest.email())) {
+        var exists = existenceFilters.emailExists(clientRequest.email(),
+                () -> clientRepository.existsByEmail(clientRequest.email()));
+
+        if (exists) {
             throw new ApiException(409, "Client already exists");
         }
 
         var client = clientMapper.toEntity(clientRequest);
         clientRepository.save(client);
-        return clientMapper.toDto(client);
+        existenceFilters.addEmail(client.getEmail());
+        return publish(CLIENT_CREATED, client);
     }
 
     @Override
@@ -62,7 +109,10 @@ public class ClientServiceImpl implements ClientService {
         var client = findClientById(id);
         clientMapper.update(client, clientRequest);
         clientRepository.save(client);
-        return clientMapper.toDto(client);
+        existenceFilters.addEmail(client.getEmail());
+        clientCache.evictAfterCommit(id);
+        responseCache.evictClientsAfterCommit(List.of(id));
+        return publish(CLIENT_UPDATED, client);
     }
 
     @Override
@@ -75,7 +125,37 @@ public class ClientServiceImpl implements ClientService {
         }
 
         clientRepository.save(client);
-        return clientMapper.toDto(client);
+        clientCache.evictAfterCommit(id);
+        responseCache.evictClientsAfterCommit(List.of(id));
+        return publish(CLIENT_ACTIVE_CHANGED, client);
+    }
+
+    private ClientResponse publish(OutboxEventType eventType, Client client) {
+        var clientResponse = clientMapper.toDto(client);
+        outboxEvents.add(eventType, client.getId(), clientResponse);
+        return clientResponse;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProfitHistoryResponse> getProfitHistory(UUID id, LocalDate from, LocalDate to, ProfitGranularity granularity) {
+        if (!from.isBefore(to)) {
+            throw new ApiException(400, "Date from must be before date to");
+        }
+
+        if (!clientRepository.existsById(id)) {
+            throw new ApiException(404, "Client not found by id");
+        }
+
+        var rows = clientBalanceChangeService.findProfitHistory(id, from, to, granularity);
+        return clientMapper.toProfitHistory(rows);
+    }
+
+    private void validateProfitRange(BigDecimal profitFrom, BigDecimal profitTo) {
+        if (Objects.nonNull(profitFrom) && Objects.nonNull(profitTo)
+                && profitFrom.compareTo(profitTo) > 0) {
+            throw new ApiException(400, "Profit from must be greater than or equal to profit to");
+        }
     }
 
     private Client findClientById(UUID id) {
@@ -1,8 +1,26 @@
 package com.project.orders.service.clientbalance;
 
+import com.project.orders.dto.response.ProfitRefreshJobResponse;
+import com.project.orders.enums.ExportFormat;
+import com.project.orders.enums.ProfitGranularity;
+import com.project.orders.persistence.projection.ClientBalanceMismatch;
+import com.project.orders.persistence.projection.ProfitHistoryRow;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClientBalanceChangeService {
-    void refreshProfitForAllClients();
+    ProfitRefreshJobResponse refreshProfitForAllClients();
+    ProfitRefreshJobResponse getRefreshJob(UUID jobId);
     void refreshProfitForClient(UUID clientId);
+    StreamingResponseBody exportStatement(UUID clientId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                          ExportFormat format);
+    List<ClientBalanceMismatch> findBalanceMismatches();
+    void recalculateBalance(UUID clientId);
+    int createBalanceSnapshots(int minChanges);
+    long rollUpProfit();
+    List<ProfitHistoryRow> findProfitHistory(UUID clientId, LocalDate from, LocalDate to, ProfitGranularity granularity);
 }
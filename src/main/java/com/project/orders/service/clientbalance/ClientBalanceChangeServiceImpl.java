@@ -1,22 +1,58 @@
 package com.project.orders.service.clientbalance;
 
+import com.project.orders.dto.response.ProfitRefreshJobResponse;
+import com.project.orders.enums.ExportFormat;
+import com.project.orders.enums.ProfitGranularity;
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.projection.ClientBalanceMismatch;
+import com.project.orders.persistence.projection.ProfitHistoryRow;
 import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.persistence.repository.ClientRepository;
+import com.project.orders.persistence.specification.ClientBalanceChangeSpecification;
+import com.project.orders.service.cache.ResponseCache;
+import com.project.orders.service.export.Exports;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static com.project.orders.service.validation.RequestValidation.validateCreatedDateRange;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ClientBalanceChangeServiceImpl implements ClientBalanceChangeService {
 
     private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final ClientRepository clientRepository;
+    private final ProfitRefreshSteps profitRefreshSteps;
+    private final ProfitRefreshWorker profitRefreshWorker;
+    private final Exports exports;
+    private final ResponseCache responseCache;
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
-    public void refreshProfitForAllClients() {
-        clientBalanceChangeRepository.refreshProfitForAllClients();
+    public ProfitRefreshJobResponse refreshProfitForAllClients() {
+        var job = profitRefreshSteps.createJob();
+        if (job.created()) {
+            profitRefreshWorker.start(job.id());
+        }
+        return profitRefreshSteps.getStatus(job.id());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public ProfitRefreshJobResponse getRefreshJob(UUID jobId) {
+        return profitRefreshSteps.getStatus(jobId);
     }
 
     @Override
@@ -26,5 +62,52 @@ public class ClientBalanceChangeServiceImpl implements ClientBalanceChangeServic
         }
 
         clientBalanceChangeRepository.refreshProfitForClient(clientId);
+        responseCache.evictClientsAfterCommit(List.of(clientId));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public StreamingResponseBody exportStatement(UUID clientId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                                 ExportFormat format) {
+        validateCreatedDateRange(createdFrom, createdTo);
+
+        if (!clientRepository.existsById(clientId)) {
+            throw new ApiException(404, "Client not found by id");
+        }
+
+        var specification = ClientBalanceChangeSpecification.get(clientId, createdFrom, createdTo);
+        return outputStream -> exports.writeClientStatement(specification, format, outputStream);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public List<ClientBalanceMismatch> findBalanceMismatches() {
+        return clientBalanceRepository.findMismatchesWithLedger();
+    }
+
+    @Override
+    public void recalculateBalance(UUID clientId) {
+        clientBalanceRepository.lockByClientId(clientId);
+        clientBalanceRepository.recalculateFromLedger(clientId);
+        responseCache.evictClientsAfterCommit(List.of(clientId));
+    }
+
+    @Override
+    public int createBalanceSnapshots(int minChanges) {
+        clientBalanceRepository.lockSnapshotPosition();
+        var oldestTransactionStart = clientBalanceRepository.findOldestTransactionStart();
+        return clientBalanceRepository.createSnapshots(minChanges, oldestTransactionStart);
+    }
+
+    @Override
+    public long rollUpProfit() {
+        clientBalanceChangeRepository.lockRollupPosition();
+        return clientBalanceChangeRepository.rollUpProfit();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProfitHistoryRow> findProfitHistory(UUID clientId, LocalDate from, LocalDate to, ProfitGranularity granularity) {
+        return clientBalanceChangeRepository.findProfitHistory(clientId, from, to, granularity.getUnit());
     }
 }
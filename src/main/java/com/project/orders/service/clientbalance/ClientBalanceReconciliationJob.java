@@ -0,0 +1,52 @@
+package com.project.orders.service.clientbalance;
+
+import com.project.orders.config.BalanceReconciliationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ClientBalanceReconciliationJob {
+
+    private final ClientBalanceChangeService clientBalanceChangeService;
+    private final BalanceReconciliationProperties properties;
+
+    private final AtomicInteger mismatches = new AtomicInteger();
+    private final Counter repairedCounter;
+
+    public ClientBalanceReconciliationJob(ClientBalanceChangeService clientBalanceChangeService,
+                                          BalanceReconciliationProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this.clientBalanceChangeService = clientBalanceChangeService;
+        this.properties = properties;
+
+        Gauge.builder("orders.balances.reconciliation.mismatches", mismatches, AtomicInteger::get)
+                .description("Client balances that differed from the ledger on the last reconciliation")
+                .register(meterRegistry);
+        this.repairedCounter = Counter.builder("orders.balances.reconciliation.repaired")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${orders.balances.reconciliation.cron}")
+    public void reconcile() {
+        var balanceMismatches = clientBalanceChangeService.findBalanceMismatches();
+        mismatches.set(balanceMismatches.size());
+
+        for (var mismatch : balanceMismatches) {
+            log.warn("Client '{}' balance {} does not match ledger balance {}",
+                    mismatch.getClientId(), mismatch.getBalance(), mismatch.getLedgerBalance());
+
+            if (properties.repair()) {
+                clientBalanceChangeService.recalculateBalance(mismatch.getClientId());
+                repairedCounter.increment();
+            }
+        }
+    }
+
+}
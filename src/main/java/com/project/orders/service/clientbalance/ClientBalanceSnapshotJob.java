@@ -0,0 +1,40 @@
+package com.project.orders.service.clientbalance;
+
+import com.project.orders.config.BalanceSnapshotProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ClientBalanceSnapshotJob {
+
+    private final ClientBalanceChangeService clientBalanceChangeService;
+    private final BalanceSnapshotProperties properties;
+
+    private final Counter snapshotsCounter;
+
+    public ClientBalanceSnapshotJob(ClientBalanceChangeService clientBalanceChangeService,
+                                    BalanceSnapshotProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.clientBalanceChangeService = clientBalanceChangeService;
+        this.properties = properties;
+
+        this.snapshotsCounter = Counter.builder("orders.balances.snapshots.created")
+                .description("Client ledger snapshots created by the compactor")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.balances.snapshots.interval}")
+    public void compact() {
+        var snapshots = clientBalanceChangeService.createBalanceSnapshots(properties.minChanges());
+        snapshotsCounter.increment(snapshots);
+
+        if (snapshots > 0) {
+            log.info("Created {} client ledger snapshots", snapshots);
+        }
+    }
+
+}
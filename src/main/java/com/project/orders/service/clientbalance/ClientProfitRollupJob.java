@@ -0,0 +1,36 @@
+package com.project.orders.service.clientbalance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ClientProfitRollupJob {
+
+    private final ClientBalanceChangeService clientBalanceChangeService;
+
+    private final Counter changesCounter;
+
+    public ClientProfitRollupJob(ClientBalanceChangeService clientBalanceChangeService,
+                                 MeterRegistry meterRegistry) {
+        this.clientBalanceChangeService = clientBalanceChangeService;
+
+        this.changesCounter = Counter.builder("orders.balances.rollups.changes")
+                .description("Client balance changes added to daily profit rollups")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.balances.rollups.interval}")
+    public void rollUp() {
+        var changes = clientBalanceChangeService.rollUpProfit();
+        changesCounter.increment(changes);
+
+        if (changes > 0) {
+            log.debug("Rolled up {} client balance changes into daily profit", changes);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.project.orders.service.clientbalance;
+
+import com.project.orders.config.BalanceReservationProperties;
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+@Component
+public class ConsumerBalanceReservations {
+
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final Duration acquireTimeout;
+    private final ReentrantLock[] stripes;
+
+    public ConsumerBalanceReservations(ClientBalanceRepository clientBalanceRepository,
+                                       BalanceReservationProperties properties) {
+        this.clientBalanceRepository = clientBalanceRepository;
+        this.acquireTimeout = properties.acquireTimeout();
+        this.stripes = IntStream.range(0, properties.stripes())
+                .mapToObj(i -> new ReentrantLock())
+                .toArray(ReentrantLock[]::new);
+    }
+
+    public <T> T reserve(UUID consumerId, Supplier<T> completion) {
+        return reserve(List.of(consumerId), completion);
+    }
+
+    public <T> T reserve(Collection<UUID> consumerIds, Supplier<T> completion) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Consumer balance stripes must be reserved before the transaction starts");
+        }
+
+        var locks = lockStripes(consumerIds);
+        try {
+            return completion.get();
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    public void lock(UUID consumerId) {
+        lock(List.of(consumerId));
+    }
+
+    public void lock(Collection<UUID> consumerIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Consumer balance can be locked only inside a transaction");
+        }
+
+        consumerIds.stream()
+                .map(this::advisoryLockKey)
+                .distinct()
+                .sorted()
+                .forEach(clientBalanceRepository::lockForTransaction);
+    }
+
+    private List<ReentrantLock> lockStripes(Collection<UUID> consumerIds) {
+        var locks = new ArrayList<ReentrantLock>();
+        var stripeIndexes = consumerIds.stream()
+                .map(consumerId -> Math.floorMod(consumerId.hashCode(), stripes.length))
+                .distinct()
+                .sorted()
+                .toList();
+
+        try {
+            for (var stripeIndex : stripeIndexes) {
+                var lock = stripes[stripeIndex];
+                if (!lock.tryLock(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new ApiException(503, "Consumer balance is busy, retry later");
+                }
+                locks.add(lock);
+            }
+            return locks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locks.forEach(ReentrantLock::unlock);
+            throw new ApiException(503, "Consumer balance is busy, retry later");
+        } catch (RuntimeException e) {
+            locks.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+    }
+
+    private long advisoryLockKey(UUID consumerId) {
+        return consumerId.getMostSignificantBits() ^ consumerId.getLeastSignificantBits();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.project.orders.service.clientbalance;
+
+import com.project.orders.config.ProfitRefreshProperties;
+import com.project.orders.dto.response.ProfitRefreshJobResponse;
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.model.ProfitRefreshChunk;
+import com.project.orders.persistence.model.ProfitRefreshJob;
+import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.ProfitRefreshChunkRepository;
+import com.project.orders.persistence.repository.ProfitRefreshJobRepository;
+import com.project.orders.service.cache.ResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.project.orders.enums.ProfitRefreshStatus.*;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProfitRefreshSteps {
+
+    private final ProfitRefreshJobRepository profitRefreshJobRepository;
+    private final ProfitRefreshChunkRepository profitRefreshChunkRepository;
+    private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+    private final ResponseCache responseCache;
+    private final ProfitRefreshProperties properties;
+
+    public CreatedJob createJob() {
+        profitRefreshJobRepository.lockJobCreation();
+        var runningJob = profitRefreshJobRepository.findFirstByStatus(RUNNING);
+        if (runningJob.isPresent()) {
+            return new CreatedJob(runningJob.get().getId(), false);
+        }
+
+        var job = ProfitRefreshJob.builder()
+                .status(RUNNING)
+                .chunkCount(properties.chunks())
+                .build();
+        profitRefreshJobRepository.save(job);
+
+        var step = Long.divideUnsigned(-1L, properties.chunks());
+        var chunks = IntStream.range(0, properties.chunks())
+                .mapToObj(i -> ProfitRefreshChunk.builder()
+                        .job(job)
+                        .chunkIndex(i)
+                        .rangeStart(new UUID(i * step, 0L))
+                        .rangeEnd(i == properties.chunks() - 1 ? new UUID(-1L, -1L) : new UUID((i + 1) * step - 1, -1L))
+                        .build())
+                .toList();
+        profitRefreshChunkRepository.saveAll(chunks);
+
+        return new CreatedJob(job.getId(), true);
+    }
+
+    public boolean refreshNextChunk(UUID jobId) {
+        if (findJobById(jobId).getStatus() != RUNNING) {
+            return false;
+        }
+
+        var chunk = profitRefreshChunkRepository.claimPendingChunk(jobId);
+        if (chunk.isEmpty()) {
+            return false;
+        }
+
+        var refreshedClients = clientBalanceChangeRepository.refreshProfitForClientRange(
+                chunk.get().getRangeStart(), chunk.get().getRangeEnd());
+        chunk.get().setRefreshedClients(refreshedClients.size());
+        responseCache.evictClientsAfterCommit(refreshedClients);
+        chunk.get().setCompletedDate(ZonedDateTime.now());
+        return true;
+    }
+
+    public void completeJob(UUID jobId) {
+        var job = findJobById(jobId);
+
+        if (job.getStatus() == RUNNING && !profitRefreshChunkRepository.existsByJobIdAndCompletedDateIsNull(jobId)) {
+            job.setStatus(COMPLETED);
+            job.setFinishedDate(ZonedDateTime.now());
+        }
+    }
+
+    public void failJob(UUID jobId, String failure) {
+        var job = findJobById(jobId);
+
+        if (job.getStatus() == RUNNING) {
+            job.setStatus(FAILED);
+            job.setFailure(failure);
+            job.setFinishedDate(ZonedDateTime.now());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ProfitRefreshJobResponse getStatus(UUID jobId) {
+        var job = findJobById(jobId);
+        var progress = profitRefreshChunkRepository.getProgress(jobId);
+
+        var finishedDate = Objects.requireNonNullElse(job.getFinishedDate(), ZonedDateTime.now());
+        var elapsedMillis = Math.max(1, Duration.between(job.getCreatedDate(), finishedDate).toMillis());
+        var chunksPerSecond = progress.getCompletedChunks() * 1000.0 / elapsedMillis;
+        var remainingChunks = job.getChunkCount() - progress.getCompletedChunks();
+
+        Long etaSeconds = null;
+        if (job.getStatus() == COMPLETED) {
+            etaSeconds = 0L;
+        } else if (job.getStatus() == RUNNING && chunksPerSecond > 0) {
+            etaSeconds = (long) Math.ceil(remainingChunks / chunksPerSecond);
+        }
+
+        return ProfitRefreshJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .totalChunks(job.getChunkCount())
+                .completedChunks(progress.getCompletedChunks())
+                .refreshedClients(progress.getRefreshedClients())
+                .chunksPerSecond(chunksPerSecond)
+                .etaSeconds(etaSeconds)
+                .failure(job.getFailure())
+                .createdDate(job.getCreatedDate())
+                .finishedDate(job.getFinishedDate())
+                .build();
+    }
+
+    private ProfitRefreshJob findJobById(UUID id) {
+        return profitRefreshJobRepository.findById(id)
+                .orElseThrow(() -> new ApiException(404, "Profit refresh job not found by id"));
+    }
+
+    public record CreatedJob(UUID id, boolean created) {
+    }
+
+}
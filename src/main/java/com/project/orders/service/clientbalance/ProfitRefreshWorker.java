@@ -0,0 +1,54 @@
+package com.project.orders.service.clientbalance;
+
+import com.project.orders.config.ProfitRefreshProperties;
+import com.project.orders.persistence.repository.ProfitRefreshJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+import static com.project.orders.enums.ProfitRefreshStatus.RUNNING;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfitRefreshWorker {
+
+    private final ThreadPoolTaskExecutor profitRefreshExecutor;
+    private final ProfitRefreshSteps profitRefreshSteps;
+    private final ProfitRefreshJobRepository profitRefreshJobRepository;
+    private final ProfitRefreshProperties properties;
+
+    public void start(UUID jobId) {
+        for (int i = 0; i < properties.workers(); i++) {
+            profitRefreshExecutor.execute(() -> process(jobId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningJobs() {
+        for (var jobId : profitRefreshJobRepository.findIdsByStatus(RUNNING)) {
+            log.info("Resuming profit refresh job '{}'", jobId);
+            start(jobId);
+        }
+    }
+
+    private void process(UUID jobId) {
+        try {
+            while (profitRefreshSteps.refreshNextChunk(jobId)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            profitRefreshSteps.completeJob(jobId);
+        } catch (Exception e) {
+            log.error("Profit refresh job '%s' failed".formatted(jobId), e);
+            profitRefreshSteps.failJob(jobId, e.getMessage());
+        }
+    }
+
+}
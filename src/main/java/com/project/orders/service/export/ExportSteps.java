@@ -0,0 +1,40 @@
+package com.project.orders.service.export;
+
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.ClientStatementRow;
+import com.project.orders.persistence.projection.OrderExportRow;
+import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.persistence.specification.KeysetCursor;
+import com.project.orders.persistence.specification.KeysetSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, timeout = 5)
+public class ExportSteps {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+
+    public List<OrderExportRow> findOrderRows(Specification<Order> specification, KeysetCursor after) {
+        return orderRepository.findExportRows(specification.and(KeysetSpecification.after(after)),
+                PageRequest.of(0, CHUNK_SIZE, KeysetSpecification.SORT));
+    }
+
+    public List<ClientStatementRow> findClientStatementRows(Specification<ClientBalanceChange> specification,
+                                                            KeysetCursor after) {
+        return clientBalanceChangeRepository.findStatementRows(specification.and(KeysetSpecification.afterAscending(after)),
+                PageRequest.of(0, CHUNK_SIZE, KeysetSpecification.ASCENDING_SORT));
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.project.orders.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.orders.enums.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String CSV_SEPARATOR = ",";
+
+    private final ObjectMapper objectMapper;
+
+    public <T extends Record> long write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(rows, type, outputStream);
+            case CSV -> writeCsv(rows, type, outputStream);
+        };
+    }
+
+    private <T extends Record> long writeNdjson(Stream<T> rows, Class<T> type, OutputStream outputStream) throws IOException {
+        var count = 0L;
+        try (var writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator(LINE_SEPARATOR)
+                .writeValues(new BufferedOutputStream(outputStream, BUFFER_SIZE))) {
+            for (var iterator = rows.iterator(); iterator.hasNext(); count++) {
+                writer.write(iterator.next());
+            }
+            if (count > 0) {
+                writer.flush();
+                outputStream.write(LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return count;
+    }
+
+    private <T extends Record> long writeCsv(Stream<T> rows, Class<T> type, OutputStream outputStream) throws IOException {
+        var components = type.getRecordComponents();
+        var count = 0L;
+
+        try (var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(Arrays.stream(components)
+                    .map(RecordComponent::getName)
+                    .collect(Collectors.joining(CSV_SEPARATOR)));
+            writer.write(LINE_SEPARATOR);
+
+            for (var iterator = rows.iterator(); iterator.hasNext(); count++) {
+                writer.write(toCsvLine(iterator.next(), components));
+                writer.write(LINE_SEPARATOR);
+            }
+        }
+        return count;
+    }
+
+    private static String toCsvLine(Record row, RecordComponent[] components) {
+        var line = new StringBuilder();
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                line.append(CSV_SEPARATOR);
+            }
+            line.append(escapeCsv(getValue(row, components[i])));
+        }
+        return line.toString();
+    }
+
+    private static Object getValue(Record row, RecordComponent component) {
+        try {
+            return component.getAccessor().invoke(row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read export column '%s'".formatted(component.getName()), e);
+        }
+    }
+
+    private static String escapeCsv(Object value) {
+        if (Objects.isNull(value)) {
+            return "";
+        }
+
+        var text = value instanceof ZonedDateTime date
+                ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(date)
+                : value.toString();
+        if (text.contains(CSV_SEPARATOR) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+}
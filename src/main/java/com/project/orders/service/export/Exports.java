@@ -0,0 +1,47 @@
+package com.project.orders.service.export;
+
+import com.project.orders.enums.ExportFormat;
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.ClientStatementRow;
+import com.project.orders.persistence.projection.OrderExportRow;
+import com.project.orders.persistence.specification.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class Exports {
+
+    private final ExportSteps exportSteps;
+    private final ExportWriter exportWriter;
+
+    public long writeOrders(Specification<Order> specification, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        var rows = streamChunks(after -> exportSteps.findOrderRows(specification, after),
+                row -> new KeysetCursor(row.createdDate(), row.id()));
+        return exportWriter.write(rows, OrderExportRow.class, format, outputStream);
+    }
+
+    public long writeClientStatement(Specification<ClientBalanceChange> specification, ExportFormat format,
+                                     OutputStream outputStream) throws IOException {
+        var rows = streamChunks(after -> exportSteps.findClientStatementRows(specification, after),
+                row -> new KeysetCursor(row.createdDate(), row.id()));
+        return exportWriter.write(rows, ClientStatementRow.class, format, outputStream);
+    }
+
+    private static <T> Stream<T> streamChunks(Function<KeysetCursor, List<T>> findChunk, Function<T, KeysetCursor> toCursor) {
+        return Stream.iterate(findChunk.apply(null), chunk -> !chunk.isEmpty(), chunk -> chunk.size() < ExportSteps.CHUNK_SIZE
+                        ? List.of()
+                        : findChunk.apply(toCursor.apply(chunk.get(chunk.size() - 1))))
+                .flatMap(List::stream);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.project.orders.service.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((Math.max(bits, Long.SIZE) + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = (long) words.length() * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        var hash = hash(value);
+        var hash1 = (int) hash;
+        var hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            var bit = Math.floorMod(hash1 + (long) i * hash2, bitSize);
+            var word = (int) (bit >>> 6);
+            var mask = 1L << bit;
+
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        var hash = hash(value);
+        var hash1 = (int) hash;
+        var hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            var bit = Math.floorMod(hash1 + (long) i * hash2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double expectedFalsePositiveProbability() {
+        long bitCount = 0;
+        for (int i = 0; i < words.length(); i++) {
+            bitCount += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) bitCount / bitSize, hashFunctions);
+    }
+
+    public long memoryBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    private static long hash(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.project.orders.service.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.BooleanSupplier;
+
+public class ExistenceFilter {
+
+    private final BloomFilter bloomFilter;
+    private final Counter skippedCounter;
+    private final Counter confirmedCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile boolean warmedUp;
+
+    public ExistenceFilter(String name, long expectedInsertions, double falsePositiveProbability, MeterRegistry meterRegistry) {
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+
+        Gauge.builder("orders.filters.false_positive_probability", bloomFilter, BloomFilter::expectedFalsePositiveProbability)
+                .description("Expected false positive probability for the current filter fill")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("orders.filters.memory", bloomFilter, BloomFilter::memoryBytes)
+                .description("Memory used by the filter bit array")
+                .tag("filter", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.skippedCounter = checkCounter(name, "skipped", meterRegistry);
+        this.confirmedCounter = checkCounter(name, "confirmed", meterRegistry);
+        this.falsePositiveCounter = checkCounter(name, "false_positive", meterRegistry);
+    }
+
+    public void add(String key) {
+        bloomFilter.put(key);
+    }
+
+    public void markWarmedUp() {
+        warmedUp = true;
+    }
+
+    public boolean exists(String key, BooleanSupplier query) {
+        if (!warmedUp) {
+            return query.getAsBoolean();
+        }
+
+        if (!bloomFilter.mightContain(key)) {
+            skippedCounter.increment();
+            return false;
+        }
+
+        var exists = query.getAsBoolean();
+        (exists ? confirmedCounter : falsePositiveCounter).increment();
+        return exists;
+    }
+
+    private static Counter checkCounter(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("orders.filters.checks")
+                .description("Existence checks answered by the filter or confirmed with the database")
+                .tag("filter", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.project.orders.service.filter;
+
+import com.project.orders.config.ExistenceFilterProperties;
+import com.project.orders.persistence.datasource.ReplicaRoutingContext;
+import com.project.orders.persistence.repository.ClientRepository;
+import com.project.orders.persistence.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static com.project.orders.enums.OrderStatus.REJECTED;
+
+@Slf4j
+@Component
+public class ExistenceFilters {
+
+    private final OrderRepository orderRepository;
+    private final ClientRepository clientRepository;
+    private final ExistenceFilter orderKeyFilter;
+    private final ExistenceFilter clientEmailFilter;
+
+    public ExistenceFilters(OrderRepository orderRepository,
+                            ClientRepository clientRepository,
+                            ExistenceFilterProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.clientRepository = clientRepository;
+        this.orderKeyFilter = new ExistenceFilter("order-keys", properties.expectedInsertions(),
+                properties.falsePositiveProbability(), meterRegistry);
+        this.clientEmailFilter = new ExistenceFilter("client-emails", properties.expectedInsertions(),
+                properties.falsePositiveProbability(), meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        ReplicaRoutingContext.onPrimary(this::load);
+        log.info("Existence filters are warmed up");
+    }
+
+    private void load() {
+        try (var orderKeys = orderRepository.streamKeys(REJECTED)) {
+            orderKeys.forEach(orderKey -> orderKeyFilter.add(orderKey(orderKey.name(), orderKey.supplierId(), orderKey.consumerId())));
+        }
+        orderKeyFilter.markWarmedUp();
+
+        try (var emails = clientRepository.streamEmails()) {
+            emails.forEach(clientEmailFilter::add);
+        }
+        clientEmailFilter.markWarmedUp();
+    }
+
+    public boolean orderExists(String name, UUID supplierId, UUID consumerId, BooleanSupplier query) {
+        return orderKeyFilter.exists(orderKey(name, supplierId, consumerId), query);
+    }
+
+    public void addOrder(String name, UUID supplierId, UUID consumerId) {
+        orderKeyFilter.add(orderKey(name, supplierId, consumerId));
+    }
+
+    public boolean emailExists(String email, BooleanSupplier query) {
+        return clientEmailFilter.exists(email, query);
+    }
+
+    public void addEmail(String email) {
+        clientEmailFilter.add(email);
+    }
+
+    private static String orderKey(String name, UUID supplierId, UUID consumerId) {
+        return name + '\u0000' + supplierId + '\u0000' + consumerId;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.project.orders.service.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    private final IdempotencySteps idempotencySteps;
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.cleanup-interval}")
+    public void cleanUp() {
+        var deleted = idempotencySteps.deleteExpired();
+
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+}
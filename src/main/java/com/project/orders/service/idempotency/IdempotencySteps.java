@@ -0,0 +1,54 @@
+package com.project.orders.service.idempotency;
+
+import com.project.orders.config.IdempotencyProperties;
+import com.project.orders.enums.IdempotencyKeyStatus;
+import com.project.orders.persistence.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IdempotencySteps {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties properties;
+
+    @Transactional(readOnly = true)
+    public Optional<IdempotentResponse> find(String idempotencyKey) {
+        return idempotencyKeyRepository.findByIdempotencyKeyAndStatusAndCreatedDateAfter(idempotencyKey,
+                        IdempotencyKeyStatus.COMPLETED, expiredBefore())
+                .map(key -> new IdempotentResponse(key.getRequestHash(), key.getStatusCode(), key.getResponse(), key.getMessage()));
+    }
+
+    public boolean claim(String idempotencyKey, String requestHash) {
+        var now = ZonedDateTime.now();
+        return idempotencyKeyRepository.claim(idempotencyKey, requestHash, now.minus(properties.retention()),
+                now.minus(properties.claimTimeout())) > 0;
+    }
+
+    public void complete(String idempotencyKey, IdempotentResponse response) {
+        var completed = idempotencyKeyRepository.complete(idempotencyKey, response.requestHash(), response.statusCode(),
+                response.response(), response.message());
+        if (completed == 0) {
+            throw new IllegalStateException("Idempotency key '%s' is no longer claimed".formatted(idempotencyKey));
+        }
+    }
+
+    public void release(String idempotencyKey, String requestHash) {
+        idempotencyKeyRepository.release(idempotencyKey, requestHash);
+    }
+
+    public int deleteExpired() {
+        return idempotencyKeyRepository.deleteCreatedBefore(expiredBefore());
+    }
+
+    private ZonedDateTime expiredBefore() {
+        return ZonedDateTime.now().minus(properties.retention());
+    }
+
+}
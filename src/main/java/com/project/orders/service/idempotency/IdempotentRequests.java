@@ -0,0 +1,185 @@
+package com.project.orders.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.orders.config.IdempotencyProperties;
+import com.project.orders.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+public class IdempotentRequests {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int CREATED = 201;
+
+    private final IdempotencySteps idempotencySteps;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<String, IdempotentResponse> responses;
+
+    private final Counter executedCounter;
+    private final Counter joinedCounter;
+    private final Counter cachedCounter;
+    private final Counter storedCounter;
+
+    public IdempotentRequests(IdempotencySteps idempotencySteps,
+                              ObjectMapper objectMapper,
+                              IdempotencyProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.idempotencySteps = idempotencySteps;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.retention())
+                .buildAsync();
+
+        this.executedCounter = requestCounter("executed", meterRegistry);
+        this.joinedCounter = requestCounter("joined", meterRegistry);
+        this.cachedCounter = requestCounter("cached", meterRegistry);
+        this.storedCounter = requestCounter("stored", meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(String idempotencyKey, Object request, Class<T> responseType,
+                                            Function<Consumer<T>, T> action) {
+        validateKey(idempotencyKey);
+
+        var requestHash = hash(request);
+        var response = new CompletableFuture<IdempotentResponse>();
+        var existingResponse = responses.asMap().putIfAbsent(idempotencyKey, response);
+
+        if (Objects.nonNull(existingResponse)) {
+            var counter = existingResponse.isDone() ? cachedCounter : joinedCounter;
+            counter.increment();
+            return existingResponse.thenApply(stored -> replay(stored, requestHash, responseType));
+        }
+
+        try {
+            response.complete(executeOnce(idempotencyKey, requestHash, action));
+        } catch (RuntimeException e) {
+            response.completeExceptionally(e);
+        }
+
+        return response.thenApply(stored -> replay(stored, requestHash, responseType));
+    }
+
+    private <T> IdempotentResponse executeOnce(String idempotencyKey, String requestHash, Function<Consumer<T>, T> action) {
+        if (!idempotencySteps.claim(idempotencyKey, requestHash)) {
+            return idempotencySteps.find(idempotencyKey)
+                    .map(stored -> {
+                        storedCounter.increment();
+                        return stored;
+                    })
+                    .orElseThrow(() -> new ApiException(409, "Request with this idempotency key is still in progress"));
+        }
+
+        executedCounter.increment();
+        try {
+            var result = action.apply(completed -> idempotencySteps.complete(idempotencyKey, created(requestHash, completed)));
+            return created(requestHash, result);
+        } catch (ApiException e) {
+            if (e.getStatusCode() >= 500) {
+                release(idempotencyKey, requestHash, e);
+                throw e;
+            }
+            var response = new IdempotentResponse(requestHash, e.getStatusCode(), null, e.getMessage());
+            idempotencySteps.complete(idempotencyKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            release(idempotencyKey, requestHash, e);
+            throw e;
+        }
+    }
+
+    private void release(String idempotencyKey, String requestHash, RuntimeException cause) {
+        try {
+            idempotencySteps.release(idempotencyKey, requestHash);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private IdempotentResponse created(String requestHash, Object response) {
+        return new IdempotentResponse(requestHash, CREATED, toJson(response), null);
+    }
+
+    private <T> T replay(IdempotentResponse response, String requestHash, Class<T> responseType) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw new ApiException(422, "Idempotency key is already used for a different request");
+        }
+
+        if (response.statusCode() != CREATED) {
+            throw new ApiException(response.statusCode(), response.message());
+        }
+
+        try {
+            return objectMapper.readValue(response.response(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", e);
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ApiException(400, "Idempotency key must be between 1 and %d characters".formatted(MAX_KEY_LENGTH));
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            var canonicalRequest = objectMapper.writeValueAsBytes(canonicalize(objectMapper.valueToTree(request)));
+            var digest = MessageDigest.getInstance("SHA-256").digest(canonicalRequest);
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request cannot be hashed", e);
+        }
+    }
+
+    private JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            var fieldNames = new TreeSet<String>();
+            node.fieldNames().forEachRemaining(fieldNames::add);
+            var canonicalNode = objectMapper.createObjectNode();
+            fieldNames.forEach(fieldName -> canonicalNode.set(fieldName, canonicalize(node.get(fieldName))));
+            return canonicalNode;
+        }
+        if (node.isArray()) {
+            var canonicalNode = objectMapper.createArrayNode();
+            node.forEach(element -> canonicalNode.add(canonicalize(element)));
+            return canonicalNode;
+        }
+        if (node.isNumber()) {
+            return DecimalNode.valueOf(node.decimalValue().stripTrailingZeros());
+        }
+        return node;
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent response cannot be serialized", e);
+        }
+    }
+
+    private static Counter requestCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("orders.idempotency.requests")
+                .description("Requests with an idempotency key by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.project.orders.service.idempotency;
+
+public record IdempotentResponse(String requestHash, int statusCode, String response, String message) {
+}
@@ -0,0 +1,74 @@
+package com.project.orders.service.metrics;
+
+import com.project.orders.exception.ApiException;
+import com.project.orders.exception.UniqueViolations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    public static final String SUCCESS = "success";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T recordStage(String operation, String stage, Supplier<T> action) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = SUCCESS;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("orders.service.stage")
+                    .description("Time spent in a stage of a service operation")
+                    .tag("operation", operation)
+                    .tag("stage", stage)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordStage(String operation, String stage, Runnable action) {
+        recordStage(operation, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    void recordOperation(String operation, String outcome, Timer.Sample sample) {
+        sample.stop(Timer.builder("orders.service.operation")
+                .description("Time spent in a service operation, including its transaction")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof ApiException apiException) {
+            return String.valueOf(apiException.getStatusCode());
+        }
+        if (e instanceof DataIntegrityViolationException && UniqueViolations.isUniqueViolation(e)) {
+            return "409";
+        }
+        if (e instanceof CannotCreateTransactionException) {
+            return "503";
+        }
+        return "500";
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.project.orders.service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String SERVICE_SUFFIX = "ServiceImpl";
+
+    private final ServiceMetrics serviceMetrics;
+
+    @Around("within(com.project.orders.service..*ServiceImpl) && execution(public * *(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        var operation = getOperation(joinPoint);
+        var sample = serviceMetrics.start();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            serviceMetrics.recordOperation(operation, ServiceMetrics.outcome(e), sample);
+            throw e;
+        }
+
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, e) -> serviceMetrics.recordOperation(operation, getOutcome(e), sample));
+        } else {
+            serviceMetrics.recordOperation(operation, ServiceMetrics.SUCCESS, sample);
+        }
+        return result;
+    }
+
+    private static String getOutcome(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e == null ? ServiceMetrics.SUCCESS : ServiceMetrics.outcome(e);
+    }
+
+    private static String getOperation(ProceedingJoinPoint joinPoint) {
+        var service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        var prefix = service.endsWith(SERVICE_SUFFIX)
+                ? service.substring(0, service.length() - SERVICE_SUFFIX.length())
+                : service;
+        return "%s.%s".formatted(Character.toLowerCase(prefix.charAt(0)) + prefix.substring(1), joinPoint.getSignature().getName());
+    }
+
+}
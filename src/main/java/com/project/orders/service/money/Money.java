@@ -0,0 +1,44 @@
+package com.project.orders.service.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record Money(long units) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return of(amount.setScale(SCALE, roundingMode));
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(units, other.units));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(units, other.units));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(units));
+    }
+
+    public boolean isPositive() {
+        return units > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+}
@@ -0,0 +1,422 @@
+package com.project.orders.service.order;
+
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.OrderBatchItemResponse;
+import com.project.orders.dto.response.OrderBatchResponse;
+import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.OrderStatusResponse;
+import com.project.orders.exception.ApiException;
+import com.project.orders.mapper.OrderMapper;
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.model.ClientBalance;
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.persistence.projection.ClientSnapshot;
+import com.project.orders.persistence.projection.OrderKey;
+import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.persistence.repository.ClientRepository;
+import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.service.cache.ResponseCache;
+import com.project.orders.service.client.ClientCache;
+import com.project.orders.service.clientbalance.ConsumerBalanceReservations;
+import com.project.orders.service.filter.ExistenceFilters;
+import com.project.orders.service.metrics.ServiceMetrics;
+import com.project.orders.service.money.Money;
+import com.project.orders.service.outbox.OutboxEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.project.orders.enums.ClientBalanceChangeType.*;
+import static com.project.orders.enums.OrderStatus.*;
+import static com.project.orders.enums.OutboxEventType.*;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(timeout = 5)
+public class OrderCreationSteps {
+
+    private static final Money MIN_CONSUMER_BALANCE = Money.of(BigDecimal.valueOf(-1000));
+    private static final String VALIDATE = "order.validate";
+    private static final String COMPLETE = "order.complete";
+    private static final String REGISTER = "order.register";
+    private static final String COMPLETE_PROCESSING = "order.completeProcessing";
+
+    private final OrderRepository orderRepository;
+    private final ClientRepository clientRepository;
+    private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final ConsumerBalanceReservations consumerBalanceReservations;
+    private final ClientCache clientCache;
+    private final ResponseCache responseCache;
+    private final ExistenceFilters existenceFilters;
+    private final ServiceMetrics serviceMetrics;
+    private final OutboxEvents outboxEvents;
+    private final OrderMapper orderMapper;
+
+    @Transactional(readOnly = true, timeout = 5)
+    public void validate(OrderRequest orderRequest) {
+        var price = validateOrderRequest(orderRequest);
+        prepareOrder(VALIDATE, orderRequest, price);
+    }
+
+    public OrderResponse complete(OrderRequest orderRequest, ZonedDateTime startProcessingDate) {
+        return complete(orderRequest, startProcessingDate, orderResponse -> {
+        });
+    }
+
+    public OrderResponse complete(OrderRequest orderRequest, ZonedDateTime startProcessingDate, Consumer<OrderResponse> onCompleted) {
+        serviceMetrics.recordStage(COMPLETE, "balance_reservation",
+                () -> consumerBalanceReservations.lock(orderRequest.consumerId()));
+
+        var price = toPrice(orderRequest.price());
+        var order = prepareOrder(COMPLETE, orderRequest, price);
+        serviceMetrics.recordStage(COMPLETE, "client_lock",
+                () -> lockActiveClients(List.of(orderRequest.supplierId(), orderRequest.consumerId())));
+        order.setStatus(COMPLETED);
+        order.setStartProcessingDate(startProcessingDate);
+        order.setEndProcessingDate(ZonedDateTime.now());
+        serviceMetrics.recordStage(COMPLETE, "order_insert", () -> orderRepository.save(order));
+        existenceFilters.addOrder(orderRequest.name(), orderRequest.supplierId(), orderRequest.consumerId());
+        outboxEvents.add(ORDER_CREATED, order.getId(), orderMapper.toEvent(order));
+
+        serviceMetrics.recordStage(COMPLETE, "balance_update", () -> saveOrderCreationBalanceChanges(order, price));
+
+        var orderResponse = orderMapper.toDto(order);
+        onCompleted.accept(orderResponse);
+        return orderResponse;
+    }
+
+    @Transactional(readOnly = true, timeout = 30)
+    public List<OrderBatchItemResponse> validateBatch(List<OrderRequest> orderRequests) {
+        var batch = loadBatch(orderRequests);
+        var items = new ArrayList<OrderBatchItemResponse>();
+
+        for (int i = 0; i < orderRequests.size(); i++) {
+            try {
+                acceptBatchItem(batch, orderRequests.get(i));
+                items.add(new OrderBatchItemResponse(i, 201, null, null));
+            } catch (ApiException e) {
+                items.add(new OrderBatchItemResponse(i, e.getStatusCode(), null, e.getMessage()));
+            }
+        }
+        return items;
+    }
+
+    @Transactional(timeout = 30)
+    public OrderBatchResponse completeBatch(List<OrderRequest> orderRequests, ZonedDateTime startProcessingDate) {
+        consumerBalanceReservations.lock(orderRequests.stream()
+                .map(OrderRequest::consumerId)
+                .collect(Collectors.toSet()));
+        clientRepository.findSnapshotsForShareByIdIn(orderRequests.stream()
+                .flatMap(orderRequest -> Stream.of(orderRequest.supplierId(), orderRequest.consumerId()))
+                .collect(Collectors.toSet()));
+        var batch = loadBatch(orderRequests);
+
+        var items = new ArrayList<OrderBatchItemResponse>();
+        var orders = new ArrayList<Order>();
+        var balanceChanges = new ArrayList<ClientBalanceChange>();
+        var endProcessingDate = ZonedDateTime.now();
+
+        for (int i = 0; i < orderRequests.size(); i++) {
+            var orderRequest = orderRequests.get(i);
+            try {
+                var price = acceptBatchItem(batch, orderRequest);
+
+                var order = orderMapper.toEntity(orderRequest);
+                order.setSupplier(batch.clients().get(orderRequest.supplierId()));
+                order.setConsumer(batch.clients().get(orderRequest.consumerId()));
+                order.setStatus(COMPLETED);
+                order.setStartProcessingDate(startProcessingDate);
+                order.setEndProcessingDate(endProcessingDate);
+                orders.add(order);
+                balanceChanges.addAll(createOrderCreationBalanceChanges(order, price));
+                items.add(new OrderBatchItemResponse(i, 201, null, null));
+            } catch (ApiException e) {
+                items.add(new OrderBatchItemResponse(i, e.getStatusCode(), null, e.getMessage()));
+            }
+        }
+
+        orderRepository.saveAll(orders);
+        orders.forEach(order -> outboxEvents.add(ORDER_CREATED, order.getId(), orderMapper.toEvent(order)));
+        batch.orderKeys().forEach(orderKey -> existenceFilters.addOrder(orderKey.name(), orderKey.supplierId(), orderKey.consumerId()));
+        clientBalanceChangeRepository.saveAll(balanceChanges);
+        batch.balanceDeltas().forEach((clientId, delta) -> clientBalanceRepository.addToBalance(clientId, delta.toBigDecimal()));
+        responseCache.evictClientsAfterCommit(batch.balanceDeltas().keySet());
+
+        var createdOrders = orders.iterator();
+        var results = items.stream()
+                .map(item -> item.status() == 201
+                        ? new OrderBatchItemResponse(item.index(), item.status(), createdOrders.next().getId(), null)
+                        : item)
+                .toList();
+
+        return OrderBatchResponse.builder()
+                .created(orders.size())
+                .failed(orderRequests.size() - orders.size())
+                .items(results)
+                .build();
+    }
+
+    public OrderStatusResponse register(OrderRequest orderRequest) {
+        var price = validateOrderRequest(orderRequest);
+        var order = prepareOrder(REGISTER, orderRequest, price);
+        order.setStatus(PENDING);
+        serviceMetrics.recordStage(REGISTER, "order_insert", () -> orderRepository.save(order));
+        existenceFilters.addOrder(orderRequest.name(), orderRequest.supplierId(), orderRequest.consumerId());
+        outboxEvents.add(ORDER_CREATED, order.getId(), orderMapper.toEvent(order));
+
+        return orderMapper.toStatusDto(order);
+    }
+
+    public boolean startProcessing(UUID orderId) {
+        var order = findOrderForUpdateById(orderId);
+
+        if (order.getStatus() != PENDING) {
+            return false;
+        }
+
+        order.setStatus(PROCESSING);
+        order.setStartProcessingDate(ZonedDateTime.now());
+        outboxEvents.add(ORDER_STATUS_CHANGED, order.getId(), orderMapper.toEvent(order));
+        responseCache.evictOrderAfterCommit(orderId);
+        return true;
+    }
+
+    public Optional<OrderStatusResponse> completeProcessing(UUID orderId) {
+        var order = findOrderForUpdateById(orderId);
+
+        if (order.getStatus() != PROCESSING) {
+            return Optional.empty();
+        }
+
+        var price = toPrice(order.getPrice());
+        serviceMetrics.recordStage(COMPLETE_PROCESSING, "balance_reservation",
+                () -> consumerBalanceReservations.lock(order.getConsumer().getId()));
+
+        serviceMetrics.recordStage(COMPLETE_PROCESSING, "client_lock",
+                () -> lockActiveClients(List.of(order.getSupplier().getId(), order.getConsumer().getId())));
+        serviceMetrics.recordStage(COMPLETE_PROCESSING, "balance_check",
+                () -> validateConsumerBalanceDecreasing(order.getConsumer().getId(), price));
+
+        order.setStatus(COMPLETED);
+        order.setEndProcessingDate(ZonedDateTime.now());
+
+        serviceMetrics.recordStage(COMPLETE_PROCESSING, "balance_update", () -> saveOrderCreationBalanceChanges(order, price));
+        outboxEvents.add(ORDER_STATUS_CHANGED, order.getId(), orderMapper.toEvent(order));
+        responseCache.evictOrderAfterCommit(orderId);
+        return Optional.of(orderMapper.toStatusDto(order));
+    }
+
+    public Optional<OrderStatusResponse> reject(UUID orderId, String reason) {
+        var order = findOrderForUpdateById(orderId);
+
+        if (order.getStatus() == COMPLETED || order.getStatus() == REJECTED) {
+            return Optional.empty();
+        }
+
+        order.setStatus(REJECTED);
+        order.setRejectionReason(reason);
+        order.setEndProcessingDate(ZonedDateTime.now());
+        outboxEvents.add(ORDER_STATUS_CHANGED, order.getId(), orderMapper.toEvent(order));
+        responseCache.evictOrderAfterCommit(orderId);
+        return Optional.of(orderMapper.toStatusDto(order));
+    }
+
+    private Order prepareOrder(String operation, OrderRequest orderRequest, Money price) {
+        var supplier = serviceMetrics.recordStage(operation, "client_lookup", () -> findClientById(orderRequest.supplierId()));
+        var consumer = serviceMetrics.recordStage(operation, "client_lookup", () -> findClientById(orderRequest.consumerId()));
+
+        validateClientActiveStatus(supplier.name(), supplier.active());
+        validateClientActiveStatus(consumer.name(), consumer.active());
+
+        serviceMetrics.recordStage(operation, "uniqueness_check",
+                () -> validateOrderUniqueness(orderRequest.name(), orderRequest.supplierId(), orderRequest.consumerId()));
+        serviceMetrics.recordStage(operation, "balance_check",
+                () -> validateConsumerBalanceDecreasing(consumer.id(), price));
+
+        var order = orderMapper.toEntity(orderRequest);
+        order.setSupplier(clientRepository.getReferenceById(supplier.id()));
+        order.setConsumer(clientRepository.getReferenceById(consumer.id()));
+        return order;
+    }
+
+    private void saveOrderCreationBalanceChanges(Order order, Money price) {
+        clientBalanceChangeRepository.saveAll(createOrderCreationBalanceChanges(order, price));
+
+        clientBalanceRepository.addToBalance(order.getSupplier().getId(), price.toBigDecimal());
+        clientBalanceRepository.addToBalance(order.getConsumer().getId(), price.negate().toBigDecimal());
+        responseCache.evictClientsAfterCommit(List.of(order.getSupplier().getId(), order.getConsumer().getId()));
+    }
+
+    private Batch loadBatch(List<OrderRequest> orderRequests) {
+        var clientIds = orderRequests.stream()
+                .flatMap(orderRequest -> Stream.of(orderRequest.supplierId(), orderRequest.consumerId()))
+                .collect(Collectors.toSet());
+        var clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        var balances = clientBalanceRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(ClientBalance::getClientId, balance -> toBalance(balance.getBalance())));
+
+        var names = orderRequests.stream()
+                .map(OrderRequest::name)
+                .collect(Collectors.toSet());
+        var orderKeys = new HashSet<>(orderRepository.findKeysByNameIn(names, REJECTED));
+
+        return new Batch(clients, balances, orderKeys, new HashMap<>());
+    }
+
+    private Money acceptBatchItem(Batch batch, OrderRequest orderRequest) {
+        var price = validateOrderRequest(orderRequest);
+
+        var supplier = getClient(batch.clients(), orderRequest.supplierId());
+        var consumer = getClient(batch.clients(), orderRequest.consumerId());
+        validateClientActiveStatus(supplier);
+        validateClientActiveStatus(consumer);
+
+        var orderKey = new OrderKey(orderRequest.name(), supplier.getId(), consumer.getId());
+        if (batch.orderKeys().contains(orderKey)) {
+            throw new ApiException(409, "Similar order already exists");
+        }
+
+        var balances = batch.balances();
+        var balanceDeltas = batch.balanceDeltas();
+        var consumerBalance = validateBalanceDecreasing(balances.getOrDefault(consumer.getId(), Money.ZERO), price);
+        var supplierBalance = addToBalance(balances.getOrDefault(supplier.getId(), Money.ZERO), price);
+        var supplierDelta = addToBalance(balanceDeltas.getOrDefault(supplier.getId(), Money.ZERO), price);
+        var consumerDelta = addToBalance(balanceDeltas.getOrDefault(consumer.getId(), Money.ZERO), price.negate());
+
+        batch.orderKeys().add(orderKey);
+        balances.put(supplier.getId(), supplierBalance);
+        balances.put(consumer.getId(), consumerBalance);
+        balanceDeltas.put(supplier.getId(), supplierDelta);
+        balanceDeltas.put(consumer.getId(), consumerDelta);
+        return price;
+    }
+
+    private Order findOrderForUpdateById(UUID id) {
+        return orderRepository.findForUpdateById(id)
+                .orElseThrow(() -> new ApiException(404, "Order not found by id"));
+    }
+
+    private Client getClient(Map<UUID, Client> clients, UUID id) {
+        return Optional.ofNullable(clients.get(id))
+                .orElseThrow(() -> new ApiException(404, "Client not found by id"));
+    }
+
+    private ClientSnapshot findClientById(UUID id) {
+        return clientCache.findById(id)
+                .orElseThrow(() -> new ApiException(404, "Client not found by id"));
+    }
+
+    private Money toPrice(BigDecimal price) {
+        try {
+            return Money.of(price);
+        } catch (ArithmeticException e) {
+            throw new ApiException(400, "Order price must have at most %d decimal places".formatted(Money.SCALE));
+        }
+    }
+
+    private Money toBalance(BigDecimal balance) {
+        try {
+            return Money.of(balance, RoundingMode.FLOOR);
+        } catch (ArithmeticException e) {
+            throw new ApiException(409, "Client balance is out of range");
+        }
+    }
+
+    private Money addToBalance(Money balance, Money amount) {
+        try {
+            return balance.plus(amount);
+        } catch (ArithmeticException e) {
+            throw new ApiException(409, "Client balance is out of range");
+        }
+    }
+
+    private void validatePrice(Money price) {
+        if (!price.isPositive()) {
+            throw new ApiException(400, "Order price must be greater than 0");
+        }
+    }
+
+    private void validateSupplierAndConsumer(UUID supplierId, UUID consumerId) {
+        if (supplierId.equals(consumerId)) {
+            throw new ApiException(400, "Order supplier and consumer must be not the same client");
+        }
+    }
+
+    private Money validateOrderRequest(OrderRequest orderRequest) {
+        var price = toPrice(orderRequest.price());
+        validatePrice(price);
+        validateSupplierAndConsumer(orderRequest.supplierId(), orderRequest.consumerId());
+        return price;
+    }
+
+    private void validateOrderUniqueness(String name, UUID supplierId, UUID consumerId) {
+        var exists = existenceFilters.orderExists(name, supplierId, consumerId,
+                () -> orderRepository.isSimilarOrderExist(name, supplierId, consumerId));
+
+        if (exists) {
+            throw new ApiException(409, "Similar order already exists");
+        }
+    }
+
+    private void validateConsumerBalanceDecreasing(UUID consumerId, Money price) {
+        var clientProfit = toBalance(clientBalanceRepository.getBalance(consumerId));
+        validateBalanceDecreasing(clientProfit, price);
+    }
+
+    private Money validateBalanceDecreasing(Money clientProfit, Money price) {
+        var finalProfit = addToBalance(clientProfit, price.negate());
+
+        if (MIN_CONSUMER_BALANCE.compareTo(finalProfit) > 0) {
+            throw new ApiException(409, "Consumer balance cannot be decreased to more than 1000");
+        }
+        return finalProfit;
+    }
+
+    private void lockActiveClients(List<UUID> clientIds) {
+        clientRepository.findSnapshotsForShareByIdIn(clientIds)
+                .forEach(client -> validateClientActiveStatus(client.name(), client.active()));
+    }
+
+    private void validateClientActiveStatus(Client client) {
+        validateClientActiveStatus(client.getName(), client.getActive());
+    }
+
+    private void validateClientActiveStatus(String name, Boolean active) {
+        if (Boolean.FALSE.equals(active)) {
+            throw new ApiException(409, "Client '%s' is not active".formatted(name));
+        }
+    }
+
+    private List<ClientBalanceChange> createOrderCreationBalanceChanges(Order order, Money price) {
+        return List.of(
+                createOrderCreationBalanceChange(price, order.getSupplier(), order),
+                createOrderCreationBalanceChange(price.negate(), order.getConsumer(), order));
+    }
+
+    private ClientBalanceChange createOrderCreationBalanceChange(Money amount, Client client, Order order) {
+        return ClientBalanceChange.builder()
+                .amount(amount.toBigDecimal())
+                .changeType(ORDER_CREATION)
+                .client(client)
+                .order(order)
+                .build();
+    }
+
+    private record Batch(Map<UUID, Client> clients, Map<UUID, Money> balances, Set<OrderKey> orderKeys,
+                         Map<UUID, Money> balanceDeltas) {
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.project.orders.service.order;
+
+import com.project.orders.config.OrderProcessingProperties;
+import com.project.orders.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@RequiredArgsConstructor
+public class OrderProcessingDelay {
+
+    private final OrderProcessingProperties orderProcessingProperties;
+
+    public void apply() {
+        var delay = orderProcessingProperties.delay();
+        var delayMillis = ThreadLocalRandom.current()
+                .nextLong(delay.min().toMillis(), delay.max().toMillis() + 1);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(500, "Order processing failed", e);
+        }
+    }
+
+}
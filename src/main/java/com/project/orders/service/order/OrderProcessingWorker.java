@@ -0,0 +1,113 @@
+package com.project.orders.service.order;
+
+import com.project.orders.dto.response.OrderStatusResponse;
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.service.clientbalance.ConsumerBalanceReservations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.project.orders.enums.OrderStatus.*;
+
+@Slf4j
+@Component
+public class OrderProcessingWorker {
+
+    private final ThreadPoolTaskExecutor orderProcessingExecutor;
+    private final OrderCreationSteps orderCreationSteps;
+    private final ConsumerBalanceReservations consumerBalanceReservations;
+    private final OrderProcessingDelay orderProcessingDelay;
+    private final OrderRepository orderRepository;
+
+    private final Counter completedCounter;
+    private final Counter rejectedCounter;
+    private final Timer latencyTimer;
+
+    public OrderProcessingWorker(ThreadPoolTaskExecutor orderProcessingExecutor,
+                                 OrderCreationSteps orderCreationSteps,
+                                 ConsumerBalanceReservations consumerBalanceReservations,
+                                 OrderProcessingDelay orderProcessingDelay,
+                                 OrderRepository orderRepository,
+                                 MeterRegistry meterRegistry) {
+        this.orderProcessingExecutor = orderProcessingExecutor;
+        this.orderCreationSteps = orderCreationSteps;
+        this.consumerBalanceReservations = consumerBalanceReservations;
+        this.orderProcessingDelay = orderProcessingDelay;
+        this.orderRepository = orderRepository;
+
+        Gauge.builder("orders.processing.queue.size", orderProcessingExecutor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Orders waiting for a processing worker")
+                .register(meterRegistry);
+        Gauge.builder("orders.processing.active", orderProcessingExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Orders being processed by a worker")
+                .register(meterRegistry);
+
+        this.completedCounter = Counter.builder("orders.processing.processed")
+                .tag("status", COMPLETED.name())
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("orders.processing.processed")
+                .tag("status", REJECTED.name())
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("orders.processing.latency")
+                .description("Time from order submission until it is completed or rejected")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void enqueue(UUID orderId) {
+        orderProcessingExecutor.execute(() -> process(orderId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedOrders() {
+        List<UUID> orderIds = orderRepository.findIdsByStatusIn(List.of(PENDING));
+
+        for (var orderId : orderIds) {
+            try {
+                enqueue(orderId);
+            } catch (TaskRejectedException e) {
+                log.warn("Order processing queue is full, remaining unfinished orders are left pending");
+                return;
+            }
+        }
+    }
+
+    private void process(UUID orderId) {
+        try {
+            if (!orderCreationSteps.startProcessing(orderId)) {
+                return;
+            }
+
+            orderProcessingDelay.apply();
+
+            var consumerId = orderRepository.findConsumerIdById(orderId)
+                    .orElseThrow(() -> new ApiException(404, "Order not found by id"));
+            consumerBalanceReservations.reserve(consumerId, () -> orderCreationSteps.completeProcessing(orderId))
+                    .ifPresent(this::record);
+        } catch (ApiException e) {
+            orderCreationSteps.reject(orderId, e.getMessage()).ifPresent(this::record);
+        } catch (Exception e) {
+            log.error("Order '%s' processing failed".formatted(orderId), e);
+            orderCreationSteps.reject(orderId, "Order processing failed").ifPresent(this::record);
+        }
+    }
+
+    private void record(OrderStatusResponse order) {
+        var counter = order.status() == COMPLETED ? completedCounter : rejectedCounter;
+        counter.increment();
+        latencyTimer.record(Duration.between(order.createdDate(), order.endProcessingDate()));
+    }
+
+}
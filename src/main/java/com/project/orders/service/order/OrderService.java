@@ -1,14 +1,31 @@
 package com.project.orders.service.order;
 
+import com.project.orders.dto.request.OrderBatchRequest;
 import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.CursorPageResponse;
+import com.project.orders.dto.response.OrderBatchResponse;
 import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.OrderStatusResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.VersionedResponse;
+import com.project.orders.enums.ExportFormat;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderService {
-    OrderResponse getById(UUID id);
-    PageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, Pageable pageable);
+    OrderResponse getById(UUID id, boolean withProfit);
+    VersionedResponse<OrderResponse> getVersionedById(UUID id, boolean withProfit, String ifNoneMatch);
+    PageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, Pageable pageable, boolean withProfit);
+    CursorPageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, String cursor, int size, boolean withProfit);
+    StreamingResponseBody export(UUID supplierId, UUID consumerId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                 ExportFormat format);
     OrderResponse create(OrderRequest orderRequest);
+    CompletableFuture<OrderResponse> create(OrderRequest orderRequest, String idempotencyKey);
+    OrderBatchResponse createBatch(OrderBatchRequest orderBatchRequest);
+    OrderStatusResponse submit(OrderRequest orderRequest);
+    OrderStatusResponse getStatus(UUID id);
 }
@@ -1,151 +1,229 @@
 package com.project.orders.service.order;
 
+import com.project.orders.dto.request.OrderBatchRequest;
 import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.CursorPageResponse;
+import com.project.orders.dto.response.OrderBatchItemResponse;
+import com.project.orders.dto.response.OrderBatchResponse;
 import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.OrderStatusResponse;
 import com.project.orders.dto.response.PageResponse;
+import com.project.orders.dto.response.VersionedResponse;
+import com.project.orders.enums.ExportFormat;
 import com.project.orders.exception.ApiException;
+import com.project.orders.exception.UniqueViolations;
 import com.project.orders.mapper.OrderMapper;
-import com.project.orders.persistence.model.Client;
-import com.project.orders.persistence.model.ClientBalanceChange;
 import com.project.orders.persistence.model.Order;
-import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
-import com.project.orders.persistence.repository.ClientRepository;
 import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.persistence.specification.KeysetCursor;
+import com.project.orders.persistence.specification.KeysetSpecification;
 import com.project.orders.persistence.specification.OrderSpecification;
+import com.project.orders.service.cache.ResponseCache;
+import com.project.orders.service.clientbalance.ConsumerBalanceReservations;
+import com.project.orders.service.export.Exports;
+import com.project.orders.service.idempotency.IdempotentRequests;
+import com.project.orders.service.metrics.ServiceMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import static com.project.orders.enums.ClientBalanceChangeType.*;
+import static com.project.orders.service.validation.RequestValidation.validateCreatedDateRange;
+import static com.project.orders.service.validation.RequestValidation.validatePageSize;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+    private static final String CREATE = "order.create";
+    private static final String CREATE_BATCH = "order.createBatch";
+    private static final int BATCH_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
-    private final ClientRepository clientRepository;
-    private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+    private final OrderCreationSteps orderCreationSteps;
+    private final ConsumerBalanceReservations consumerBalanceReservations;
+    private final OrderProcessingDelay orderProcessingDelay;
+    private final OrderProcessingWorker orderProcessingWorker;
+    private final ServiceMetrics serviceMetrics;
+    private final Exports exports;
+    private final IdempotentRequests idempotentRequests;
+    private final ResponseCache responseCache;
     private final OrderMapper orderMapper;
 
     @Transactional(readOnly = true)
     @Override
-    public OrderResponse getById(UUID id) {
-        var order = findOrderById(id);
-        return orderMapper.toDto(order);
+    public OrderResponse getById(UUID id, boolean withProfit) {
+        return orderRepository.findRowById(id, withProfit)
+                .map(orderMapper::toDto)
+                .orElseThrow(() -> new ApiException(404, "Order not found by id"));
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public VersionedResponse<OrderResponse> getVersionedById(UUID id, boolean withProfit, String ifNoneMatch) {
+        var version = orderRepository.findVersionById(id, withProfit)
+                .orElseThrow(() -> new ApiException(404, "Order not found by id"));
+        return responseCache.getOrder(id, withProfit, String.valueOf(version), ifNoneMatch,
+                () -> getById(id, withProfit));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public PageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, Pageable pageable) {
+    public PageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, Pageable pageable, boolean withProfit) {
         var specification = OrderSpecification.get(supplierId, consumerId);
-        var page = orderRepository.findAll(specification, pageable);
-        return orderMapper.toPageResponse(page);
+        var rows = orderRepository.findRows(specification, pageable, withProfit);
+        var page = PageableExecutionUtils.getPage(rows, pageable, () -> orderRepository.count(specification));
+        return orderMapper.toRowPageResponse(page);
     }
 
-    @Transactional(timeout = 15)
+    @Transactional(readOnly = true)
     @Override
-    public OrderResponse create(OrderRequest orderRequest) {
-        validateOrderRequest(orderRequest);
-
-        var supplier = findClientById(orderRequest.supplierId());
-        var consumer = findClientById(orderRequest.consumerId());
-
-        validateClientActiveStatus(supplier);
-        validateClientActiveStatus(consumer);
-
-        var order = orderMapper.toEntity(orderRequest);
-        order.setStartProcessingDate(ZonedDateTime.now());
-        order.setSupplier(supplier);
-        order.setConsumer(consumer);
-
-        addOrderProcessingDelay();
-
-        validateOrderUniqueness(orderRequest.name(), orderRequest.supplierId(), orderRequest.consumerId());
-        validateConsumerBalanceDecreasing(consumer, orderRequest.price());
-
-        order.setEndProcessingDate(ZonedDateTime.now());
-        orderRepository.save(order);
-
-        var supplierBalanceChange = createOrderCreationBalanceChange(order.getPrice(), supplier, order);
-        var consumerBalanceChange = createOrderCreationBalanceChange(order.getPrice().negate(), consumer, order);
-        clientBalanceChangeRepository.saveAll(List.of(supplierBalanceChange, consumerBalanceChange));
-
-        return orderMapper.toDto(order);
+    public CursorPageResponse<OrderResponse> getAll(UUID supplierId, UUID consumerId, String cursor, int size,
+                                                    boolean withProfit) {
+        validatePageSize(size);
+
+        var specification = OrderSpecification.get(supplierId, consumerId)
+                .and(KeysetSpecification.<Order>after(KeysetCursor.decode(cursor)));
+        var rows = orderRepository.findRows(specification, PageRequest.of(0, size + 1, KeysetSpecification.SORT), withProfit);
+        return orderMapper.toRowCursorPageResponse(rows, size);
     }
 
-    private Order findOrderById(UUID id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new ApiException(404, "Order not found by id"));
-    }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public StreamingResponseBody export(UUID supplierId, UUID consumerId, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                        ExportFormat format) {
+        validateCreatedDateRange(createdFrom, createdTo);
 
-    private Client findClientById(UUID id) {
-        return clientRepository.findById(id)
-                .orElseThrow(() -> new ApiException(404, "Client not found by id"));
+        var specification = OrderSpecification.get(supplierId, consumerId, createdFrom, createdTo);
+        return outputStream -> exports.writeOrders(specification, format, outputStream);
     }
 
-    private void validatePrice(BigDecimal price) {
-        if (BigDecimal.ZERO.compareTo(price) > -1) {
-            throw new ApiException(400, "Order price must be greater than 0");
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public OrderResponse create(OrderRequest orderRequest) {
+        return create(orderRequest, orderResponse -> {
+        });
     }
 
-    private void validateSupplierAndConsumer(UUID supplierId, UUID consumerId) {
-        if (supplierId.equals(consumerId)) {
-            throw new ApiException(400, "Order supplier and consumer must be not the same client");
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public CompletableFuture<OrderResponse> create(OrderRequest orderRequest, String idempotencyKey) {
+        if (Objects.isNull(idempotencyKey)) {
+            return CompletableFuture.completedFuture(create(orderRequest));
         }
-    }
 
-    private void validateOrderRequest(OrderRequest orderRequest) {
-        validatePrice(orderRequest.price());
-        validateSupplierAndConsumer(orderRequest.supplierId(), orderRequest.consumerId());
+        return idempotentRequests.execute(idempotencyKey, orderRequest, OrderResponse.class, onCompleted -> create(orderRequest, onCompleted));
     }
 
-    private void validateOrderUniqueness(String name, UUID supplierId, UUID consumerId) {
-        if (orderRepository.isSimilarOrderExist(name, supplierId, consumerId)) {
-            throw new ApiException(409, "Similar order already exists");
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public OrderBatchResponse createBatch(OrderBatchRequest orderBatchRequest) {
+        var orderRequests = orderBatchRequest.orders();
+        var validatedItems = serviceMetrics.recordStage(CREATE_BATCH, "validation",
+                () -> orderCreationSteps.validateBatch(orderRequests));
+        var validIndexes = validatedItems.stream()
+                .filter(item -> item.status() == 201)
+                .map(OrderBatchItemResponse::index)
+                .toList();
+
+        if (validIndexes.isEmpty()) {
+            return OrderBatchResponse.builder()
+                    .created(0)
+                    .failed(orderRequests.size())
+                    .items(validatedItems)
+                    .build();
         }
+
+        var startProcessingDate = ZonedDateTime.now();
+        serviceMetrics.recordStage(CREATE_BATCH, "processing_delay", orderProcessingDelay::apply);
+
+        var validRequests = validIndexes.stream()
+                .map(orderRequests::get)
+                .toList();
+        var consumerIds = validRequests.stream()
+                .map(OrderRequest::consumerId)
+                .collect(Collectors.toSet());
+
+        var completed = serviceMetrics.recordStage(CREATE_BATCH, "completion", () -> consumerBalanceReservations.reserve(consumerIds,
+                () -> completeBatch(validRequests, startProcessingDate)));
+
+        var items = new ArrayList<>(validatedItems);
+        completed.items().forEach(item -> {
+            var index = validIndexes.get(item.index());
+            items.set(index, new OrderBatchItemResponse(index, item.status(), item.orderId(), item.message()));
+        });
+
+        return OrderBatchResponse.builder()
+                .created(completed.created())
+                .failed(orderRequests.size() - completed.created())
+                .items(items)
+                .build();
     }
 
-    private void validateConsumerBalanceDecreasing(Client consumer, BigDecimal price) {
-        var clientProfit = clientBalanceChangeRepository.getClientProfit(consumer.getId());
-        var finalProfit = clientProfit.subtract(price);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public OrderStatusResponse submit(OrderRequest orderRequest) {
+        var orderStatus = orderCreationSteps.register(orderRequest);
 
-        if (BigDecimal.valueOf(-1000).compareTo(finalProfit) > 0) {
-            throw new ApiException(409, "Consumer balance cannot be decreased to more than 1000");
+        try {
+            orderProcessingWorker.enqueue(orderStatus.id());
+        } catch (TaskRejectedException e) {
+            orderCreationSteps.reject(orderStatus.id(), "Order processing queue is full");
+            throw new ApiException(503, "Order processing queue is full, retry later", e);
         }
+
+        return orderStatus;
     }
 
-    private void validateClientActiveStatus(Client client) {
-        if (Boolean.FALSE.equals(client.getActive())) {
-            throw new ApiException(409, "Client '%s' is not active".formatted(client.getName()));
+    @Transactional(readOnly = true)
+    @Override
+    public OrderStatusResponse getStatus(UUID id) {
+        var order = findOrderById(id);
+        return orderMapper.toStatusDto(order);
+    }
+
+    private OrderBatchResponse completeBatch(List<OrderRequest> orderRequests, ZonedDateTime startProcessingDate) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return orderCreationSteps.completeBatch(orderRequests, startProcessingDate);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == BATCH_ATTEMPTS || !UniqueViolations.isUniqueViolation(e)) {
+                    throw e;
+                }
+            }
         }
     }
 
-    private ClientBalanceChange createOrderCreationBalanceChange(BigDecimal amount, Client client, Order order) {
-        return ClientBalanceChange.builder()
-                .amount(amount)
-                .changeType(ORDER_CREATION)
-                .client(client)
-                .order(order)
-                .build();
+    private OrderResponse create(OrderRequest orderRequest, Consumer<OrderResponse> onCompleted) {
+        serviceMetrics.recordStage(CREATE, "validation", () -> orderCreationSteps.validate(orderRequest));
+
+        var startProcessingDate = ZonedDateTime.now();
+        serviceMetrics.recordStage(CREATE, "processing_delay", orderProcessingDelay::apply);
+
+        return serviceMetrics.recordStage(CREATE, "completion", () -> consumerBalanceReservations.reserve(orderRequest.consumerId(),
+                () -> orderCreationSteps.complete(orderRequest, startProcessingDate, onCompleted)));
     }
 
-    private void addOrderProcessingDelay() {
-        var random = new Random(System.currentTimeMillis());
-        var timeoutTimeSeconds = random.nextLong(10) + 1;
-        try {
-            Thread.sleep(timeoutTimeSeconds * 1000);
-        } catch (InterruptedException e) {
-            throw new ApiException(500, "Order processing failed", e);
-        }
+    private Order findOrderById(UUID id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new ApiException(404, "Order not found by id"));
     }
 
 }
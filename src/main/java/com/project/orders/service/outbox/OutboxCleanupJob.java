@@ -0,0 +1,31 @@
+package com.project.orders.service.outbox;
+
+import com.project.orders.config.OutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxCleanupJob {
+
+    private final OutboxSteps outboxSteps;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${orders.outbox.cleanup-interval}")
+    public void cleanUp() {
+        var deleted = 0L;
+        int batch;
+        do {
+            batch = outboxSteps.deleteExpired();
+            deleted += batch;
+        } while (batch == properties.batchSize());
+
+        if (deleted > 0) {
+            log.info("Deleted {} published outbox events", deleted);
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.project.orders.service.outbox;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OutboxEventService {
+    SseEmitter subscribe(Long after);
+}
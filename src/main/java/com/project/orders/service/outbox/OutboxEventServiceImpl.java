@@ -0,0 +1,25 @@
+package com.project.orders.service.outbox;
+
+import com.project.orders.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxEventServiceImpl implements OutboxEventService {
+
+    private final OutboxEventStream outboxEventStream;
+
+    @Override
+    public SseEmitter subscribe(Long after) {
+        if (Objects.nonNull(after) && after < 0) {
+            throw new ApiException(400, "Event position must be greater than or equal to 0");
+        }
+
+        return outboxEventStream.subscribe(after);
+    }
+
+}
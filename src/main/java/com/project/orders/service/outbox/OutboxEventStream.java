@@ -0,0 +1,173 @@
+package com.project.orders.service.outbox;
+
+import com.project.orders.config.OutboxProperties;
+import com.project.orders.dto.response.OutboxEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class OutboxEventStream {
+
+    private final OutboxSteps outboxSteps;
+    private final OutboxProperties properties;
+    private final ThreadPoolTaskExecutor outboxStreamExecutor;
+
+    private final Queue<Subscriber> pendingSubscribers = new ConcurrentLinkedQueue<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    private Long lastPosition;
+
+    public OutboxEventStream(OutboxSteps outboxSteps, OutboxProperties properties,
+                             ThreadPoolTaskExecutor outboxStreamExecutor, MeterRegistry meterRegistry) {
+        this.outboxSteps = outboxSteps;
+        this.properties = properties;
+        this.outboxStreamExecutor = outboxStreamExecutor;
+
+        Gauge.builder("orders.outbox.subscribers", this, stream -> stream.subscribers.size() + stream.pendingSubscribers.size())
+                .description("Clients connected to the change stream")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("orders.outbox.delivered")
+                .description("Outbox events sent to change stream subscribers")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("orders.outbox.subscribers.dropped")
+                .description("Change stream subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long after) {
+        var subscriber = new Subscriber(new SseEmitter(properties.subscriberTimeout().toMillis()), after,
+                properties.subscriberBufferSize());
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+
+        pendingSubscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    public synchronized void dispatch() {
+        if (Objects.isNull(lastPosition)) {
+            lastPosition = outboxSteps.getLastPosition();
+        }
+
+        List<OutboxEventResponse> events;
+        do {
+            events = outboxSteps.findPublished(lastPosition, Long.MAX_VALUE, properties.batchSize());
+            if (!events.isEmpty()) {
+                lastPosition = events.get(events.size() - 1).position();
+                for (var subscriber : subscribers) {
+                    if (!enqueue(subscriber, events)) {
+                        droppedCounter.increment();
+                        unsubscribe(subscriber);
+                        subscriber.emitter.complete();
+                    }
+                }
+            }
+        } while (events.size() == properties.batchSize());
+
+        catchUp();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        pendingSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void catchUp() {
+        for (var iterator = pendingSubscribers.iterator(); iterator.hasNext(); ) {
+            var subscriber = iterator.next();
+
+            if (Objects.isNull(subscriber.position)) {
+                subscriber.position = lastPosition;
+            }
+
+            var caughtUp = subscriber.position >= lastPosition;
+            if (!caughtUp && subscriber.events.remainingCapacity() >= properties.batchSize()) {
+                var events = outboxSteps.findPublished(subscriber.position, lastPosition, properties.batchSize());
+                caughtUp = enqueue(subscriber, events) && events.size() < properties.batchSize();
+            }
+
+            if (caughtUp) {
+                iterator.remove();
+                subscribers.add(subscriber);
+            }
+        }
+    }
+
+    private boolean enqueue(Subscriber subscriber, List<OutboxEventResponse> events) {
+        for (var event : events) {
+            if (event.position() > subscriber.position) {
+                if (!subscriber.events.offer(event)) {
+                    return false;
+                }
+                subscriber.position = event.position();
+            }
+        }
+
+        if (!subscriber.events.isEmpty() && subscriber.sending.compareAndSet(false, true)) {
+            outboxStreamExecutor.execute(() -> send(subscriber));
+        }
+        return true;
+    }
+
+    private void send(Subscriber subscriber) {
+        do {
+            try {
+                for (var event = subscriber.events.poll(); Objects.nonNull(event); event = subscriber.events.poll()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.position()))
+                            .name(event.eventType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    deliveredCounter.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.events.clear();
+                return;
+            } finally {
+                subscriber.sending.set(false);
+            }
+        } while (!subscriber.events.isEmpty() && subscriber.sending.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        pendingSubscribers.remove(subscriber);
+        subscribers.remove(subscriber);
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<OutboxEventResponse> events;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private Long position;
+
+        private Subscriber(SseEmitter emitter, Long position, int bufferSize) {
+            this.emitter = emitter;
+            this.events = new ArrayBlockingQueue<>(bufferSize);
+            this.position = position;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.project.orders.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.orders.enums.OutboxEventType;
+import com.project.orders.persistence.model.OutboxEvent;
+import com.project.orders.persistence.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxEvents {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(OutboxEventType eventType, UUID aggregateId, Object payload) {
+        var outboxEvent = OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .build();
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox event payload cannot be serialized", e);
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.project.orders.service.outbox;
+
+import com.project.orders.config.OutboxProperties;
+import com.project.orders.persistence.projection.OutboxPublication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class OutboxRelay {
+
+    private final OutboxSteps outboxSteps;
+    private final OutboxEventStream outboxEventStream;
+    private final OutboxProperties properties;
+
+    private final Counter publishedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer lagTimer;
+
+    public OutboxRelay(OutboxSteps outboxSteps,
+                       OutboxEventStream outboxEventStream,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxSteps = outboxSteps;
+        this.outboxEventStream = outboxEventStream;
+        this.properties = properties;
+
+        this.publishedCounter = Counter.builder("orders.outbox.published")
+                .description("Outbox events published to the change stream")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("orders.outbox.publish.batch.size")
+                .description("Outbox events published per relay batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("orders.outbox.publish.lag")
+                .description("Time from writing an outbox event until it is published")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval}")
+    public void relay() {
+        List<OutboxPublication> publications;
+        do {
+            publications = outboxSteps.publishBatch(properties.batchSize());
+            record(publications);
+        } while (publications.size() == properties.batchSize());
+
+        outboxEventStream.dispatch();
+    }
+
+    private void record(List<OutboxPublication> publications) {
+        if (publications.isEmpty()) {
+            return;
+        }
+
+        batchSizeSummary.record(publications.size());
+        publishedCounter.increment(publications.size());
+        publications.forEach(publication -> lagTimer.record((long) (publication.getLagMillis() * 1000), TimeUnit.MICROSECONDS));
+    }
+
+}
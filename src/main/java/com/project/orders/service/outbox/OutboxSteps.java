@@ -0,0 +1,52 @@
+package com.project.orders.service.outbox;
+
+import com.project.orders.config.OutboxProperties;
+import com.project.orders.dto.response.OutboxEventResponse;
+import com.project.orders.mapper.OutboxEventMapper;
+import com.project.orders.persistence.projection.OutboxPublication;
+import com.project.orders.persistence.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OutboxSteps {
+
+    private static final long PUBLISHING_LOCK_KEY = 0x6f7574626f78L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventMapper outboxEventMapper;
+    private final OutboxProperties properties;
+
+    public List<OutboxPublication> publishBatch(int batchSize) {
+        if (!outboxEventRepository.tryLockForPublishing(PUBLISHING_LOCK_KEY)) {
+            return List.of();
+        }
+
+        return outboxEventRepository.publishBatch(batchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public long getLastPosition() {
+        return outboxEventRepository.getLastPosition();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEventResponse> findPublished(long after, long upTo, int limit) {
+        var outboxEvents = outboxEventRepository.findByPositionGreaterThanAndPositionLessThanEqualOrderByPosition(
+                after, upTo, Limit.of(limit));
+        return outboxEventMapper.toDtos(outboxEvents);
+    }
+
+    public int deleteExpired() {
+        return outboxEventRepository.deletePublishedBefore(ZonedDateTime.now().minus(properties.retention()),
+                properties.batchSize());
+    }
+
+}
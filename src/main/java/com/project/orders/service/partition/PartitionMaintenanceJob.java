@@ -0,0 +1,61 @@
+package com.project.orders.service.partition;
+
+import com.project.orders.config.PartitioningProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Component
+public class PartitionMaintenanceJob {
+
+    private final PartitionSteps partitionSteps;
+    private final PartitioningProperties properties;
+
+    private final Counter createdCounter;
+    private final Counter detachedCounter;
+
+    public PartitionMaintenanceJob(PartitionSteps partitionSteps,
+                                   PartitioningProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.partitionSteps = partitionSteps;
+        this.properties = properties;
+
+        this.createdCounter = Counter.builder("orders.partitions.created")
+                .description("Monthly partitions created ahead of time")
+                .register(meterRegistry);
+        this.detachedCounter = Counter.builder("orders.partitions.detached")
+                .description("Monthly partitions detached after the retention period")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.database.partitioning.interval}")
+    public void maintain() {
+        var month = ZonedDateTime.now(ZoneOffset.UTC)
+                .withDayOfMonth(1)
+                .truncatedTo(ChronoUnit.DAYS);
+
+        var created = partitionSteps.createPartitions(month, month.plusMonths(properties.premadeMonths()));
+        createdCounter.increment(created);
+
+        if (created > 0) {
+            log.info("Created {} monthly partitions", created);
+        }
+
+        if (properties.retainedMonths() > 0) {
+            var detached = partitionSteps.detachPartitions(month.minusMonths(properties.retainedMonths()));
+            detachedCounter.increment(detached.size());
+
+            if (!detached.isEmpty()) {
+                log.info("Detached monthly partitions {}", detached);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.project.orders.service.partition;
+
+import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PartitionSteps {
+
+    private final OrderRepository orderRepository;
+    private final ClientBalanceChangeRepository clientBalanceChangeRepository;
+
+    public int createPartitions(ZonedDateTime from, ZonedDateTime to) {
+        return orderRepository.createPartitions(from, to)
+                + clientBalanceChangeRepository.createPartitions(from, to);
+    }
+
+    public List<String> detachPartitions(ZonedDateTime before) {
+        var detached = new ArrayList<>(orderRepository.detachPartitions(before));
+        detached.addAll(clientBalanceChangeRepository.detachPartitions(before));
+        return detached;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.project.orders.service.validation;
+
+import com.project.orders.exception.ApiException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestValidation {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    public static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "Page size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+    }
+
+    public static void validateCreatedDateRange(ZonedDateTime createdFrom, ZonedDateTime createdTo) {
+        if (Objects.nonNull(createdFrom) && Objects.nonNull(createdTo) && !createdFrom.isBefore(createdTo)) {
+            throw new ApiException(400, "Created date from must be before created date to");
+        }
+    }
+
+}
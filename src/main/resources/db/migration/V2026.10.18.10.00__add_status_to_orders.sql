@@ -0,0 +1,14 @@
+CREATE TYPE order_status AS ENUM ('PENDING', 'PROCESSING', 'COMPLETED', 'REJECTED');
+
+ALTER TABLE orders
+    ADD COLUMN status           ORDER_STATUS NOT NULL DEFAULT 'COMPLETED',
+    ADD COLUMN rejection_reason VARCHAR;
+
+ALTER TABLE orders
+    DROP CONSTRAINT orders_name_supplier_id_consumer_id_key;
+
+CREATE UNIQUE INDEX orders_name_supplier_id_consumer_id_key
+    ON orders (name, supplier_id, consumer_id)
+    WHERE status <> 'REJECTED';
+
+CREATE INDEX orders_status_idx ON orders (status) WHERE status IN ('PENDING', 'PROCESSING');
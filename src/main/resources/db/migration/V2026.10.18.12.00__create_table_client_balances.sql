@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS client_balances
+(
+    client_id    UUID PRIMARY KEY REFERENCES clients,
+    balance      NUMERIC     NOT NULL DEFAULT 0,
+    updated_date TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO client_balances(client_id, balance)
+SELECT c.id, COALESCE(SUM(cbc.amount), 0)
+FROM clients c
+         LEFT JOIN client_balance_changes cbc ON cbc.client_id = c.id
+GROUP BY c.id;
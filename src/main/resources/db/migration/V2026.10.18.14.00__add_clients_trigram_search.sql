@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE clients
+    ADD COLUMN search_text VARCHAR GENERATED ALWAYS AS (
+        lower(COALESCE(name, '') || ' ' || COALESCE(email, '') || ' ' || COALESCE(address, ''))
+        ) STORED;
+
+CREATE INDEX clients_search_text_trgm_idx ON clients USING GIN (search_text gin_trgm_ops);
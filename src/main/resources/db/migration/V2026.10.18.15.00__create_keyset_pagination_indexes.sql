@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS orders_created_date_id_idx ON orders (created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS orders_supplier_id_created_date_id_idx ON orders (supplier_id, created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS orders_consumer_id_created_date_id_idx ON orders (consumer_id, created_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS clients_created_date_id_idx ON clients (created_date DESC, id DESC);
@@ -0,0 +1,31 @@
+CREATE TYPE profit_refresh_status AS ENUM ('RUNNING', 'COMPLETED', 'FAILED');
+
+CREATE TABLE IF NOT EXISTS profit_refresh_jobs
+(
+    id            UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    status        PROFIT_REFRESH_STATUS NOT NULL,
+    chunk_count   INT                   NOT NULL,
+    failure       VARCHAR,
+    created_date  TIMESTAMPTZ           NOT NULL DEFAULT now(),
+    finished_date TIMESTAMPTZ
+);
+
+CREATE UNIQUE INDEX profit_refresh_jobs_running_idx ON profit_refresh_jobs (status) WHERE status = 'RUNNING';
+
+CREATE TABLE IF NOT EXISTS profit_refresh_chunks
+(
+    id                UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    job_id            UUID NOT NULL REFERENCES profit_refresh_jobs,
+    chunk_index       INT  NOT NULL,
+    range_start       UUID NOT NULL,
+    range_end         UUID NOT NULL,
+    refreshed_clients INT,
+    created_date      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    completed_date    TIMESTAMPTZ,
+
+    UNIQUE (job_id, chunk_index)
+);
+
+CREATE INDEX profit_refresh_chunks_pending_idx ON profit_refresh_chunks (job_id, chunk_index) WHERE completed_date IS NULL;
+
+CREATE INDEX IF NOT EXISTS client_balance_changes_client_id_idx ON client_balance_changes (client_id);
@@ -0,0 +1,23 @@
+ALTER TABLE client_balance_changes
+    ADD COLUMN xact_id XID8 NOT NULL DEFAULT pg_current_xact_id();
+
+DROP INDEX IF EXISTS client_balance_changes_client_id_idx;
+
+CREATE INDEX client_balance_changes_client_id_xact_id_idx ON client_balance_changes (client_id, xact_id) INCLUDE (amount);
+
+CREATE TABLE IF NOT EXISTS client_balance_snapshots
+(
+    client_id       UUID PRIMARY KEY REFERENCES clients,
+    balance         NUMERIC     NOT NULL,
+    ledger_position XID8        NOT NULL,
+    created_date    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE VIEW client_ledger_balances AS
+SELECT c.id AS client_id, COALESCE(cbs.balance, 0) + COALESCE(delta.amount, 0) AS balance
+FROM clients c
+         LEFT JOIN client_balance_snapshots cbs ON cbs.client_id = c.id
+         LEFT JOIN LATERAL (SELECT SUM(cbc.amount) AS amount
+                            FROM client_balance_changes cbc
+                            WHERE cbc.client_id = c.id
+                              AND cbc.xact_id >= COALESCE(cbs.ledger_position, '0'::XID8)) delta ON TRUE;
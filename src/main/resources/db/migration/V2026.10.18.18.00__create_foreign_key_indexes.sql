@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS client_balance_changes_order_id_idx ON client_balance_changes (order_id);
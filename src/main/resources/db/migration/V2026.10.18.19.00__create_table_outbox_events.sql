@@ -0,0 +1,15 @@
+CREATE TYPE outbox_event_type AS ENUM ('ORDER_CREATED', 'ORDER_STATUS_CHANGED', 'CLIENT_CREATED', 'CLIENT_UPDATED',
+    'CLIENT_ACTIVE_CHANGED', 'CLIENT_BALANCE_REFRESHED');
+
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    id             UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    event_type     OUTBOX_EVENT_TYPE NOT NULL,
+    aggregate_id   UUID              NOT NULL,
+    payload        JSONB             NOT NULL,
+    position       BIGINT UNIQUE,
+    created_date   TIMESTAMPTZ       NOT NULL DEFAULT now(),
+    published_date TIMESTAMPTZ
+);
+
+CREATE INDEX outbox_events_unpublished_idx ON outbox_events (created_date, id) WHERE position IS NULL;
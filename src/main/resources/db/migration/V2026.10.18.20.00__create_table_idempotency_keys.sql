@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    id              UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    request_hash    VARCHAR      NOT NULL,
+    status_code     INT          NOT NULL,
+    response        JSONB,
+    message         VARCHAR,
+    created_date    TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idempotency_keys_created_date_idx ON idempotency_keys (created_date);
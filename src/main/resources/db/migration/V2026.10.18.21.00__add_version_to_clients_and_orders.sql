@@ -0,0 +1,34 @@
+CREATE OR REPLACE FUNCTION increment_version() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.version := OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE clients
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE client_balances
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE orders
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TRIGGER clients_increment_version
+    BEFORE UPDATE
+    ON clients
+    FOR EACH ROW
+EXECUTE FUNCTION increment_version();
+
+CREATE TRIGGER client_balances_increment_version
+    BEFORE UPDATE
+    ON client_balances
+    FOR EACH ROW
+EXECUTE FUNCTION increment_version();
+
+CREATE TRIGGER orders_increment_version
+    BEFORE UPDATE
+    ON orders
+    FOR EACH ROW
+EXECUTE FUNCTION increment_version();
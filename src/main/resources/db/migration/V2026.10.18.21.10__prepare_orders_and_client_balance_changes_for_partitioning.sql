@@ -0,0 +1,52 @@
+CREATE TABLE IF NOT EXISTS order_keys
+(
+    order_id    UUID PRIMARY KEY,
+    name        VARCHAR,
+    supplier_id UUID NOT NULL,
+    consumer_id UUID NOT NULL,
+
+    UNIQUE (name, supplier_id, consumer_id)
+);
+
+CREATE OR REPLACE FUNCTION reserve_order_key() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO order_keys(order_id, name, supplier_id, consumer_id)
+    VALUES (NEW.id, NEW.name, NEW.supplier_id, NEW.consumer_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION release_order_key() RETURNS TRIGGER AS
+$$
+BEGIN
+    DELETE FROM order_keys WHERE order_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_reserve_order_key
+    AFTER INSERT
+    ON orders
+    FOR EACH ROW
+    WHEN (NEW.status <> 'REJECTED')
+EXECUTE FUNCTION reserve_order_key();
+
+CREATE TRIGGER orders_release_order_key
+    AFTER UPDATE OF status
+    ON orders
+    FOR EACH ROW
+    WHEN (NEW.status = 'REJECTED' AND OLD.status <> 'REJECTED')
+EXECUTE FUNCTION release_order_key();
+
+DO
+$$
+DECLARE
+    partition_end TIMESTAMPTZ := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '2 months') AT TIME ZONE 'UTC';
+BEGIN
+    EXECUTE format('ALTER TABLE orders ADD CONSTRAINT orders_partition_check CHECK (created_date < %L) NOT VALID',
+                   partition_end);
+    EXECUTE format('ALTER TABLE client_balance_changes ADD CONSTRAINT client_balance_changes_partition_check CHECK (created_date < %L) NOT VALID',
+                   partition_end);
+END;
+$$;
@@ -0,0 +1,11 @@
+ALTER TABLE orders
+    VALIDATE CONSTRAINT orders_partition_check;
+
+ALTER TABLE client_balance_changes
+    VALIDATE CONSTRAINT client_balance_changes_partition_check;
+
+INSERT INTO order_keys(order_id, name, supplier_id, consumer_id)
+SELECT id, name, supplier_id, consumer_id
+FROM orders
+WHERE status <> 'REJECTED'
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,7 @@
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS orders_legacy_pkey ON orders (id, created_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS orders_legacy_name_supplier_id_consumer_id_idx
+    ON orders (name, supplier_id, consumer_id)
+    WHERE status <> 'REJECTED';
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS client_balance_changes_legacy_pkey ON client_balance_changes (id, created_date);
@@ -0,0 +1,229 @@
+CREATE OR REPLACE FUNCTION monthly_partitions(parent_table TEXT)
+    RETURNS TABLE
+            (
+                partition_name  TEXT,
+                partition_start TIMESTAMPTZ,
+                partition_end   TIMESTAMPTZ
+            )
+AS
+$$
+SELECT child.relname::TEXT,
+       COALESCE((regexp_match(pg_get_expr(child.relpartbound, child.oid), 'FROM \(''([^'']+)''\)'))[1]::TIMESTAMPTZ,
+                '-infinity'),
+       (regexp_match(pg_get_expr(child.relpartbound, child.oid), 'TO \(''([^'']+)''\)'))[1]::TIMESTAMPTZ
+FROM pg_inherits i
+         JOIN pg_class child ON child.oid = i.inhrelid
+WHERE i.inhparent = parent_table::REGCLASS
+  AND pg_get_expr(child.relpartbound, child.oid) <> 'DEFAULT'
+ORDER BY 3;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent_table TEXT, first_date TIMESTAMPTZ, last_date TIMESTAMPTZ) RETURNS INT AS
+$$
+DECLARE
+    month             TIMESTAMP;
+    month_start       TIMESTAMPTZ;
+    month_end         TIMESTAMPTZ;
+    partition_name    TEXT;
+    default_partition TEXT := parent_table || '_default';
+    created           INT  := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(parent_table));
+
+    FOR month IN SELECT generate_series(date_trunc('month', first_date AT TIME ZONE 'UTC'),
+                                        date_trunc('month', last_date AT TIME ZONE 'UTC'), INTERVAL '1 month')
+        LOOP
+            partition_name := format('%s_p%s', parent_table, to_char(month, 'YYYY_MM'));
+            month_start := month AT TIME ZONE 'UTC';
+            month_end := (month + INTERVAL '1 month') AT TIME ZONE 'UTC';
+
+            IF to_regclass(partition_name) IS NULL AND NOT EXISTS (SELECT 1
+                                                                   FROM monthly_partitions(parent_table) mp
+                                                                   WHERE mp.partition_start < month_end
+                                                                     AND mp.partition_end > month_start) THEN
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition_name, parent_table);
+
+                IF to_regclass(default_partition) IS NOT NULL THEN
+                    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_date >= %L AND created_date < %L RETURNING *)
+                                    INSERT INTO %I SELECT * FROM moved',
+                                   default_partition, month_start, month_end, partition_name);
+                END IF;
+
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', parent_table,
+                               partition_name, month_start, month_end);
+                created := created + 1;
+            END IF;
+        END LOOP;
+
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION detach_order_partitions(detach_before TIMESTAMPTZ) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition  RECORD;
+    unfinished BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('orders'));
+
+    FOR partition IN SELECT * FROM monthly_partitions('orders') WHERE partition_end <= detach_before
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE status IN (''PENDING'', ''PROCESSING''))',
+                           partition.partition_name) INTO unfinished;
+
+            IF NOT unfinished THEN
+                EXECUTE format('ALTER TABLE orders DETACH PARTITION %I', partition.partition_name);
+                EXECUTE format('DELETE FROM order_keys ok USING %I o WHERE ok.order_id = o.id', partition.partition_name);
+                RETURN NEXT partition.partition_name;
+            END IF;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION detach_client_balance_change_partitions(detach_before TIMESTAMPTZ) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition RECORD;
+    unsettled BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('client_balance_changes'));
+
+    FOR partition IN SELECT * FROM monthly_partitions('client_balance_changes') WHERE partition_end <= detach_before
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1
+                                           FROM %I cbc
+                                                    LEFT JOIN client_balance_snapshots cbs ON cbs.client_id = cbc.client_id
+                                           WHERE cbc.client_id IS NOT NULL
+                                             AND (cbs.client_id IS NULL OR cbc.xact_id >= cbs.ledger_position))',
+                           partition.partition_name) INTO unsettled;
+
+            IF NOT unsettled THEN
+                EXECUTE format('ALTER TABLE client_balance_changes DETACH PARTITION %I', partition.partition_name);
+                RETURN NEXT partition.partition_name;
+            END IF;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP VIEW client_ledger_balances;
+
+ALTER TABLE client_balance_changes
+    DROP CONSTRAINT client_balance_changes_order_id_fkey;
+
+DROP TRIGGER orders_increment_version ON orders;
+DROP TRIGGER orders_reserve_order_key ON orders;
+DROP TRIGGER orders_release_order_key ON orders;
+DROP INDEX orders_name_supplier_id_consumer_id_key;
+
+ALTER TABLE orders
+    RENAME TO orders_legacy;
+
+ALTER TABLE orders_legacy
+    DROP CONSTRAINT orders_pkey,
+    ADD CONSTRAINT orders_legacy_pkey PRIMARY KEY USING INDEX orders_legacy_pkey;
+
+ALTER INDEX orders_created_date_id_idx RENAME TO orders_legacy_created_date_id_idx;
+ALTER INDEX orders_supplier_id_created_date_id_idx RENAME TO orders_legacy_supplier_id_created_date_id_idx;
+ALTER INDEX orders_consumer_id_created_date_id_idx RENAME TO orders_legacy_consumer_id_created_date_id_idx;
+ALTER INDEX orders_status_idx RENAME TO orders_legacy_status_idx;
+
+ALTER TABLE client_balance_changes
+    RENAME TO client_balance_changes_legacy;
+
+ALTER TABLE client_balance_changes_legacy
+    DROP CONSTRAINT client_balance_changes_pkey,
+    ADD CONSTRAINT client_balance_changes_legacy_pkey PRIMARY KEY USING INDEX client_balance_changes_legacy_pkey;
+
+ALTER INDEX client_balance_changes_client_id_xact_id_idx RENAME TO client_balance_changes_legacy_client_id_xact_id_idx;
+ALTER INDEX client_balance_changes_order_id_idx RENAME TO client_balance_changes_legacy_order_id_idx;
+
+CREATE TABLE orders
+(
+    LIKE orders_legacy INCLUDING DEFAULTS
+) PARTITION BY RANGE (created_date);
+
+ALTER TABLE orders
+    ADD PRIMARY KEY (id, created_date),
+    ADD FOREIGN KEY (supplier_id) REFERENCES clients,
+    ADD FOREIGN KEY (consumer_id) REFERENCES clients;
+
+CREATE INDEX orders_created_date_id_idx ON orders (created_date DESC, id DESC);
+CREATE INDEX orders_supplier_id_created_date_id_idx ON orders (supplier_id, created_date DESC, id DESC);
+CREATE INDEX orders_consumer_id_created_date_id_idx ON orders (consumer_id, created_date DESC, id DESC);
+CREATE INDEX orders_status_idx ON orders (status) WHERE status IN ('PENDING', 'PROCESSING');
+CREATE INDEX orders_name_supplier_id_consumer_id_idx ON orders (name, supplier_id, consumer_id) WHERE status <> 'REJECTED';
+
+CREATE TRIGGER orders_increment_version
+    BEFORE UPDATE
+    ON orders
+    FOR EACH ROW
+EXECUTE FUNCTION increment_version();
+
+CREATE TRIGGER orders_reserve_order_key
+    AFTER INSERT
+    ON orders
+    FOR EACH ROW
+    WHEN (NEW.status <> 'REJECTED')
+EXECUTE FUNCTION reserve_order_key();
+
+CREATE TRIGGER orders_release_order_key
+    AFTER UPDATE OF status
+    ON orders
+    FOR EACH ROW
+    WHEN (NEW.status = 'REJECTED' AND OLD.status <> 'REJECTED')
+EXECUTE FUNCTION release_order_key();
+
+CREATE TABLE client_balance_changes
+(
+    LIKE client_balance_changes_legacy INCLUDING DEFAULTS
+) PARTITION BY RANGE (created_date);
+
+ALTER TABLE client_balance_changes
+    ADD PRIMARY KEY (id, created_date),
+    ADD FOREIGN KEY (client_id) REFERENCES clients;
+
+CREATE INDEX client_balance_changes_client_id_xact_id_idx ON client_balance_changes (client_id, xact_id) INCLUDE (amount);
+CREATE INDEX client_balance_changes_order_id_idx ON client_balance_changes (order_id);
+
+DO
+$$
+DECLARE
+    legacy_end TIMESTAMPTZ;
+BEGIN
+    SELECT (regexp_match(pg_get_constraintdef(oid), '''([^'']+)'''))[1]::TIMESTAMPTZ
+    INTO legacy_end
+    FROM pg_constraint
+    WHERE conname = 'orders_partition_check';
+
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION orders_legacy FOR VALUES FROM (MINVALUE) TO (%L)', legacy_end);
+    EXECUTE format('ALTER TABLE client_balance_changes ATTACH PARTITION client_balance_changes_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   legacy_end);
+
+    PERFORM create_monthly_partitions('orders', legacy_end, now() + INTERVAL '3 months');
+    PERFORM create_monthly_partitions('client_balance_changes', legacy_end, now() + INTERVAL '3 months');
+END;
+$$;
+
+ALTER TABLE orders_legacy
+    DROP CONSTRAINT orders_partition_check;
+
+ALTER TABLE client_balance_changes_legacy
+    DROP CONSTRAINT client_balance_changes_partition_check;
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+CREATE TABLE client_balance_changes_default PARTITION OF client_balance_changes DEFAULT;
+
+ALTER TABLE client_balance_snapshots
+    ADD COLUMN ledger_date TIMESTAMPTZ NOT NULL DEFAULT '-infinity';
+
+CREATE VIEW client_ledger_balances AS
+SELECT c.id AS client_id, COALESCE(cbs.balance, 0) + COALESCE(delta.amount, 0) AS balance
+FROM clients c
+         LEFT JOIN client_balance_snapshots cbs ON cbs.client_id = c.id
+         LEFT JOIN LATERAL (SELECT SUM(cbc.amount) AS amount
+                            FROM client_balance_changes cbc
+                            WHERE cbc.client_id = c.id
+                              AND cbc.created_date >= COALESCE(cbs.ledger_date, '-infinity')
+                              AND cbc.xact_id >= COALESCE(cbs.ledger_position, '0'::XID8)) delta ON TRUE;
@@ -0,0 +1,61 @@
+CREATE TABLE IF NOT EXISTS client_profit_rollups
+(
+    client_id      UUID        NOT NULL REFERENCES clients,
+    day            DATE        NOT NULL,
+    order_creation NUMERIC     NOT NULL DEFAULT 0,
+    adjustment     NUMERIC     NOT NULL DEFAULT 0,
+    changes        BIGINT      NOT NULL DEFAULT 0,
+    updated_date   TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (client_id, day)
+);
+
+CREATE TABLE IF NOT EXISTS client_profit_rollup_positions
+(
+    id              BOOLEAN PRIMARY KEY  DEFAULT TRUE CHECK (id),
+    ledger_position XID8        NOT NULL,
+    updated_date    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX client_balance_changes_xact_id_idx ON client_balance_changes (xact_id);
+
+INSERT INTO client_profit_rollup_positions(ledger_position)
+VALUES (pg_snapshot_xmin(pg_current_snapshot()));
+
+INSERT INTO client_profit_rollups(client_id, day, order_creation, adjustment, changes)
+SELECT cbc.client_id,
+       (cbc.created_date AT TIME ZONE 'UTC')::DATE,
+       COALESCE(SUM(cbc.amount) FILTER (WHERE cbc.change_type = 'ORDER_CREATION'), 0),
+       COALESCE(SUM(cbc.amount) FILTER (WHERE cbc.change_type = 'ADJUSTMENT'), 0),
+       COUNT(*)
+FROM client_balance_changes cbc
+WHERE cbc.client_id IS NOT NULL
+  AND cbc.xact_id < (SELECT crp.ledger_position FROM client_profit_rollup_positions crp)
+GROUP BY 1, 2;
+
+CREATE OR REPLACE FUNCTION detach_client_balance_change_partitions(detach_before TIMESTAMPTZ) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition RECORD;
+    unsettled BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('client_balance_changes'));
+
+    FOR partition IN SELECT * FROM monthly_partitions('client_balance_changes') WHERE partition_end <= detach_before
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1
+                                           FROM %I cbc
+                                                    LEFT JOIN client_balance_snapshots cbs ON cbs.client_id = cbc.client_id
+                                           WHERE cbc.client_id IS NOT NULL
+                                             AND (cbs.client_id IS NULL OR cbc.xact_id >= cbs.ledger_position
+                                               OR cbc.xact_id >= (SELECT crp.ledger_position
+                                                                  FROM client_profit_rollup_positions crp)))',
+                           partition.partition_name) INTO unsettled;
+
+            IF NOT unsettled THEN
+                EXECUTE format('ALTER TABLE client_balance_changes DETACH PARTITION %I', partition.partition_name);
+                RETURN NEXT partition.partition_name;
+            END IF;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
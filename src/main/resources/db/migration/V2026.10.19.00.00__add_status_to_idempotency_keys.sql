@@ -0,0 +1,5 @@
+CREATE TYPE idempotency_key_status AS ENUM ('IN_PROGRESS', 'COMPLETED');
+
+ALTER TABLE idempotency_keys
+    ADD COLUMN status IDEMPOTENCY_KEY_STATUS NOT NULL DEFAULT 'COMPLETED',
+    ALTER COLUMN status_code DROP NOT NULL;
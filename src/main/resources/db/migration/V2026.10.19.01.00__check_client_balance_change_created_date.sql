@@ -0,0 +1,16 @@
+CREATE OR REPLACE FUNCTION check_client_balance_change_created_date() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.created_date < now() - INTERVAL '1 hour' THEN
+        RAISE EXCEPTION 'Client balance change created date % is more than 1 hour before its transaction', NEW.created_date
+            USING ERRCODE = 'check_violation';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER client_balance_changes_check_created_date
+    BEFORE INSERT OR UPDATE OF created_date
+    ON client_balance_changes
+    FOR EACH ROW
+EXECUTE FUNCTION check_client_balance_change_created_date();
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS client_balance_changes_client_id_created_date_id_idx ON client_balance_changes (client_id, created_date, id);
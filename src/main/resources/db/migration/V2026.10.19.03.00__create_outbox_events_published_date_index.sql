@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS outbox_events_published_date_idx ON outbox_events (published_date) WHERE position IS NOT NULL;
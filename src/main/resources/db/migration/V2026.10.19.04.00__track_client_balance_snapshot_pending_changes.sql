@@ -0,0 +1,12 @@
+ALTER TABLE client_balance_snapshots
+    ADD COLUMN pending_changes BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS client_balance_snapshot_positions
+(
+    id              BOOLEAN PRIMARY KEY  DEFAULT TRUE CHECK (id),
+    ledger_position XID8        NOT NULL,
+    updated_date    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO client_balance_snapshot_positions(ledger_position)
+VALUES ('0');
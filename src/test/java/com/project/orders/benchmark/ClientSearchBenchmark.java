@@ -0,0 +1,121 @@
+package com.project.orders.benchmark;
+
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.repository.ClientRepository;
+import com.project.orders.persistence.specification.ClientSpecification;
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClientSearchBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1_000_000);
+    private static final int ITERATIONS = 3;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seedClients() {
+        var existing = jdbcTemplate.queryForObject("SELECT count(*) FROM clients WHERE email LIKE '%@bench.test'", Integer.class);
+        if (existing >= CLIENTS) {
+            return;
+        }
+
+        jdbcTemplate.update("""
+                INSERT INTO clients(name, email, address)
+                SELECT initcap(substr(md5(g || 'first'), 1, 6)) || ' ' || initcap(substr(md5(g || 'last'), 1, 9)),
+                       substr(md5(g || 'email'), 1, 12) || '@bench.test',
+                       initcap(substr(md5(g || 'street'), 1, 7)) || ' street ' || g % 300 || ', '
+                           || initcap(substr(md5((g % 500)::text), 1, 8))
+                FROM generate_series(?, ?) g
+                """, existing + 1, CLIENTS);
+        jdbcTemplate.execute("ANALYZE clients");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (var table : List.of("client_balance_changes", "client_balances", "client_balance_snapshots", "client_profit_rollups")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE client_id IN (SELECT id FROM clients WHERE email LIKE '%@bench.test')");
+            }
+            jdbcTemplate.update("DELETE FROM clients WHERE email LIKE '%@bench.test'");
+        });
+        jdbcTemplate.execute("ANALYZE clients");
+    }
+
+    @Test
+    void searchLatency() {
+        var client = jdbcTemplate.queryForMap("SELECT name, email, address FROM clients WHERE email = substr(md5(4242 || 'email'), 1, 12) || '@bench.test'");
+        var name = (String) client.get("name");
+        var searches = List.of(
+                name.substring(0, name.length() - 1) + "x",
+                ((String) client.get("email")).substring(0, 12),
+                (String) client.get("address"),
+                name + " " + client.get("address"));
+
+        for (var search : searches) {
+            var legacy = measure(search, ClientSearchBenchmark::legacySpecification);
+            var trigram = measure(search, term -> ClientSpecification.get(term, null, null));
+
+            log.info("search '{}' over {} clients: legacy {} ms, trigram {} ms", search, CLIENTS, legacy, trigram);
+        }
+    }
+
+    private long measure(String search, Function<String, Specification<Client>> specification) {
+        clientRepository.findAll(specification.apply(search), PageRequest.of(0, 20));
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            clientRepository.findAll(specification.apply(search), PageRequest.of(0, 20));
+        }
+        return (System.nanoTime() - start) / 1_000_000 / ITERATIONS;
+    }
+
+    private static Specification<Client> legacySpecification(String search) {
+        return (root, query, cb) -> {
+            var searchStrings = new HashSet<String>();
+            searchStrings.add(search);
+            for (int i = 0; i + 3 <= search.length(); i++) {
+                searchStrings.add(search.substring(i, i + 3));
+            }
+
+            var predicates = new ArrayList<Predicate>();
+            searchStrings.forEach(searchPart -> {
+                var likeExp = "%%%s%%".formatted(searchPart).toLowerCase();
+                Arrays.asList("name", "email", "address").forEach(field ->
+                        predicates.add(cb.like(cb.lower(root.get(field)), likeExp)));
+            });
+
+            query.orderBy(cb.desc(root.get("createdDate")));
+            return cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.project.orders.benchmark;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderCreationSteps;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ConsumerBalanceReservationBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS = 2000;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16, 64})
+    void orderCompletionThroughputByConsumerCount(int consumers) throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        var consumerIds = IntStream.range(0, consumers)
+                .mapToObj(i -> clientService.create(new ClientRequest("Consumer " + i, "consumer-%s-%d@orders.test".formatted(run, i), null)).id())
+                .toList();
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var created = 0;
+        try {
+            var start = System.nanoTime();
+            var futures = IntStream.range(0, ORDERS)
+                    .mapToObj(i -> new OrderRequest("%s-%d".formatted(run, i), new BigDecimal("0.01"), supplier.id(), consumerIds.get(i % consumers)))
+                    .map(orderRequest -> executor.submit(() -> orderCreationSteps.complete(orderRequest, ZonedDateTime.now())))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+                created++;
+            }
+            var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            log.info("{}: {} consumers, {} orders in {} ms, {} orders/s with {} threads", getClass().getSimpleName(),
+                    consumers, created, elapsedMillis, "%.1f".formatted(created * 1000.0 / elapsedMillis), THREADS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created).isEqualTo(ORDERS);
+    }
+
+}
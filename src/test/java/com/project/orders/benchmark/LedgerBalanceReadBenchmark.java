@@ -0,0 +1,85 @@
+package com.project.orders.benchmark;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class LedgerBalanceReadBenchmark {
+
+    private static final int ITERATIONS = 20;
+    private static final int RECENT_CHANGES = 10;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private ClientBalanceRepository clientBalanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void ledgerBalanceReadLatency(int ledgerSize) {
+        var clientId = clientService.create(new ClientRequest("Ledger " + ledgerSize, "ledger-%s@bench.test".formatted(UUID.randomUUID()), null)).id();
+        insertChanges(clientId, ledgerSize - RECENT_CHANGES);
+        jdbcTemplate.execute("ANALYZE client_balance_changes");
+
+        var withoutSnapshot = measure(clientId);
+
+        clientBalanceChangeService.createBalanceSnapshots(1);
+        insertChanges(clientId, RECENT_CHANGES);
+        var withSnapshot = measure(clientId);
+
+        var start = System.nanoTime();
+        clientBalanceChangeService.createBalanceSnapshots(RECENT_CHANGES + 1);
+        var compaction = (System.nanoTime() - start) / 1_000_000.0;
+
+        log.info("ledger of {} changes: full scan {} ms, snapshot + {} recent changes {} ms, compaction below threshold {} ms",
+                ledgerSize, format(withoutSnapshot), RECENT_CHANGES, format(withSnapshot), format(compaction));
+
+        assertThat(clientBalanceRepository.getLedgerBalance(clientId)).isEqualByComparingTo(BigDecimal.valueOf(ledgerSize));
+    }
+
+    private void insertChanges(UUID clientId, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO client_balance_changes(client_id, amount, change_type)
+                SELECT ?, 1, 'ADJUSTMENT'
+                FROM generate_series(1, ?)
+                """, clientId, count);
+    }
+
+    private double measure(UUID clientId) {
+        clientBalanceRepository.getLedgerBalance(clientId);
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            clientBalanceRepository.getLedgerBalance(clientId);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static String format(double millis) {
+        return "%.2f".formatted(millis);
+    }
+
+}
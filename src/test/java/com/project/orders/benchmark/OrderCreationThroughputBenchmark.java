@@ -0,0 +1,96 @@
+package com.project.orders.benchmark;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.service.client.ClientService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "orders.processing.delay.min=1s",
+        "orders.processing.delay.max=1s",
+        "spring.jpa.show-sql=false"
+})
+abstract class OrderCreationThroughputBenchmark {
+
+    private static final int CLIENTS = 100;
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Test
+    void saturatedOrderCreationThroughput() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var clientIds = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> clientService.create(new ClientRequest("Client " + i, "%s-%d@orders.test".formatted(run, i), null)).id())
+                .toList();
+
+        var inFlight = new Semaphore(CONCURRENCY);
+        var created = new AtomicInteger();
+        var futures = new ArrayList<CompletableFuture<?>>();
+
+        var executor = Executors.newFixedThreadPool(32);
+        try {
+            var httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+
+            var start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                var body = """
+                        {"name": "%s-%d", "price": 1, "supplierId": "%s", "consumerId": "%s"}
+                        """.formatted(run, i, clientIds.get(i % CLIENTS), clientIds.get((i + 1) % CLIENTS));
+                var request = HttpRequest.newBuilder(URI.create("http://localhost:%d/orders".formatted(port)))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+
+                inFlight.acquire();
+                futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, e) -> {
+                            inFlight.release();
+                            if (response != null && response.statusCode() == 201) {
+                                created.incrementAndGet();
+                            }
+                        }));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            log.info("{}: {}/{} orders created ({} failed) in {} ms, {} orders/s at concurrency {}",
+                    getClass().getSimpleName(), created.get(), REQUESTS, REQUESTS - created.get(), elapsedMillis,
+                    "%.1f".formatted(created.get() * 1000.0 / elapsedMillis), CONCURRENCY);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created.get()).isPositive();
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.project.orders.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PartitioningBenchmark {
+
+    private static final String SCHEMA = "partitioning_benchmark";
+    private static final int MONTHS = 24;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS %s CASCADE".formatted(SCHEMA));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void rangeReadAndRetention(int changes) {
+        var firstMonth = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).minusMonths(MONTHS - 1);
+        createTables(firstMonth, changes);
+
+        var day = firstMonth.plusMonths(MONTHS / 2).plusDays(14);
+        var heapRead = measureDay("changes_heap", day);
+        var partitionedRead = measureDay("changes_partitioned", day);
+
+        var retentionEnd = firstMonth.plusMonths(1);
+        var start = System.nanoTime();
+        var deleted = jdbcTemplate.update("DELETE FROM %s.changes_heap WHERE created_date < ?".formatted(SCHEMA),
+                retentionEnd.toOffsetDateTime());
+        var heapRetention = (System.nanoTime() - start) / 1_000_000.0;
+
+        var partition = "changes_partitioned_p%d_%02d".formatted(firstMonth.getYear(), firstMonth.getMonthValue());
+        var detached = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.%s".formatted(SCHEMA, partition), Integer.class);
+        start = System.nanoTime();
+        jdbcTemplate.execute("ALTER TABLE %1$s.changes_partitioned DETACH PARTITION %1$s.%2$s; DROP TABLE %1$s.%2$s"
+                .formatted(SCHEMA, partition));
+        var partitionedRetention = (System.nanoTime() - start) / 1_000_000.0;
+
+        log.info("{} changes over {} months: one day read heap {} ms, partitioned {} ms; "
+                        + "oldest month retention DELETE {} ms, DETACH + DROP {} ms",
+                changes, MONTHS, format(heapRead), format(partitionedRead), format(heapRetention), format(partitionedRetention));
+
+        assertThat(deleted).isEqualTo(detached);
+        assertThat(count("changes_heap")).isEqualTo(count("changes_partitioned"));
+    }
+
+    private void createTables(ZonedDateTime firstMonth, int changes) {
+        jdbcTemplate.execute("""
+                DROP SCHEMA IF EXISTS %1$s CASCADE;
+                CREATE SCHEMA %1$s;
+                CREATE TABLE %1$s.changes_heap (LIKE public.client_balance_changes INCLUDING DEFAULTS);
+                ALTER TABLE %1$s.changes_heap ADD PRIMARY KEY (id);
+                CREATE INDEX ON %1$s.changes_heap (created_date);
+                CREATE TABLE %1$s.changes_partitioned (LIKE public.client_balance_changes INCLUDING DEFAULTS)
+                    PARTITION BY RANGE (created_date);
+                ALTER TABLE %1$s.changes_partitioned ADD PRIMARY KEY (id, created_date);
+                CREATE INDEX ON %1$s.changes_partitioned (created_date);
+                """.formatted(SCHEMA));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL search_path TO %s, public".formatted(SCHEMA));
+            jdbcTemplate.queryForObject("SELECT create_monthly_partitions('changes_partitioned', ?, ?)", Integer.class,
+                    firstMonth.toOffsetDateTime(), firstMonth.plusMonths(MONTHS - 1).toOffsetDateTime());
+        });
+        jdbcTemplate.update("""
+                INSERT INTO %s.changes_heap(client_id, amount, change_type, created_date)
+                SELECT gen_random_uuid(), 1, 'ADJUSTMENT', ?::TIMESTAMPTZ + random() * (?::TIMESTAMPTZ - ?::TIMESTAMPTZ)
+                FROM generate_series(1, ?)
+                """.formatted(SCHEMA), firstMonth.toOffsetDateTime(), firstMonth.plusMonths(MONTHS).toOffsetDateTime(),
+                firstMonth.toOffsetDateTime(), changes);
+        jdbcTemplate.execute("""
+                INSERT INTO %1$s.changes_partitioned SELECT * FROM %1$s.changes_heap;
+                ANALYZE %1$s.changes_heap;
+                ANALYZE %1$s.changes_partitioned;
+                """.formatted(SCHEMA));
+    }
+
+    private double measureDay(String table, ZonedDateTime day) {
+        var sql = "SELECT COUNT(*), SUM(amount) FROM %s.%s WHERE created_date >= ? AND created_date < ?".formatted(SCHEMA, table);
+        jdbcTemplate.queryForMap(sql, day.toOffsetDateTime(), day.plusDays(1).toOffsetDateTime());
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.queryForMap(sql, day.toOffsetDateTime(), day.plusDays(1).toOffsetDateTime());
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private Map<String, Object> count(String table) {
+        return jdbcTemplate.queryForMap("SELECT COUNT(*), SUM(amount) FROM %s.%s".formatted(SCHEMA, table));
+    }
+
+    private static String format(double millis) {
+        return "%.2f".formatted(millis);
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.project.orders.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsOrderCreationBenchmark extends OrderCreationThroughputBenchmark {
+}
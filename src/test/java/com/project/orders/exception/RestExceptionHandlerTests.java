@@ -0,0 +1,28 @@
+package com.project.orders.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestExceptionHandlerTests {
+
+    private final RestExceptionHandler restExceptionHandler = new RestExceptionHandler();
+
+    @Test
+    void uniqueViolationsAreConflicts() {
+        var e = new DataIntegrityViolationException("duplicate key", new SQLException("duplicate key", "23505"));
+
+        assertThat(restExceptionHandler.handleException(e).getStatusCode().value()).isEqualTo(409);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotConflicts() {
+        var e = new DataIntegrityViolationException("null value", new SQLException("null value", "23502"));
+
+        assertThat(restExceptionHandler.handleException(e).getStatusCode().value()).isEqualTo(500);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.project.orders.jmh;
+
+import com.project.orders.OrdersApplication;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BenchmarkApplication {
+
+    static ConfigurableApplicationContext start() {
+        var application = new SpringApplication(OrdersApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(
+                "--spring.jpa.show-sql=false",
+                "--orders.processing.delay.min=0ms",
+                "--orders.processing.delay.max=0ms",
+                "--logging.level.root=WARN");
+    }
+
+}
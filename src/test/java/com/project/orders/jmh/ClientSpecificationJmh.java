@@ -0,0 +1,58 @@
+package com.project.orders.jmh;
+
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.specification.ClientSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientSpecificationJmh {
+
+    @Param({"3", "16", "64", "255"})
+    private int searchLength;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private String search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManager.class).getEntityManagerFactory().createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        search = "Client_%".repeat(searchLength / 8 + 1).substring(0, searchLength);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate searchPredicate() {
+        var query = criteriaBuilder.createQuery(Client.class);
+        return ClientSpecification.get(search, null, null)
+                .toPredicate(query.from(Client.class), query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate searchAndProfitRangePredicate() {
+        var query = criteriaBuilder.createQuery(Client.class);
+        return ClientSpecification.get(search, BigDecimal.ZERO, BigDecimal.TEN)
+                .toPredicate(query.from(Client.class), query, criteriaBuilder);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.project.orders.jmh;
+
+import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.dto.response.PageResponse;
+import com.project.orders.enums.OrderStatus;
+import com.project.orders.mapper.ClientMapper;
+import com.project.orders.mapper.ClientMapperImpl;
+import com.project.orders.mapper.OrderMapper;
+import com.project.orders.mapper.OrderMapperImpl;
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.projection.OrderRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperJmh {
+
+    private static final int CLIENTS_PAGE_SIZE = 100;
+
+    @Param({"20", "1000", "10000"})
+    private int pageSize;
+
+    private ClientMapper clientMapper;
+    private OrderMapper orderMapper;
+    private Page<Client> clients;
+    private Page<OrderRow> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        clientMapper = new ClientMapperImpl();
+        orderMapper = new OrderMapperImpl();
+        ReflectionTestUtils.setField(orderMapper, "clientMapper", clientMapper);
+
+        var clientContent = IntStream.range(0, CLIENTS_PAGE_SIZE)
+                .mapToObj(MapperJmh::client)
+                .toList();
+        var orderContent = IntStream.range(0, pageSize)
+                .mapToObj(i -> orderRow(i, clientContent.get(i % CLIENTS_PAGE_SIZE), clientContent.get((i + 1) % CLIENTS_PAGE_SIZE)))
+                .toList();
+
+        clients = new PageImpl<>(clientContent, PageRequest.of(0, CLIENTS_PAGE_SIZE), CLIENTS_PAGE_SIZE * 10L);
+        orders = new PageImpl<>(orderContent, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public PageResponse<ClientResponse> clientPageResponse() {
+        return clientMapper.toPageResponse(clients);
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> orderPageResponse() {
+        return orderMapper.toRowPageResponse(orders);
+    }
+
+    private static Client client(int index) {
+        var client = Client.builder()
+                .name("Client " + index)
+                .email("client-%d@jmh.test".formatted(index))
+                .address("Street " + index)
+                .profit(BigDecimal.valueOf(index))
+                .build();
+        client.setId(UUID.randomUUID());
+        client.setCreatedDate(ZonedDateTime.now());
+        return client;
+    }
+
+    private static OrderRow orderRow(int index, Client supplier, Client consumer) {
+        return new OrderRow(UUID.randomUUID(), "order-" + index, BigDecimal.valueOf(index % 100 + 1),
+                ZonedDateTime.now(), ZonedDateTime.now(), OrderStatus.COMPLETED, ZonedDateTime.now(),
+                supplier.getId(), supplier.getName(), supplier.getEmail(), supplier.getAddress(), supplier.getActive(),
+                supplier.getCreatedDate(), supplier.getProfit(),
+                consumer.getId(), consumer.getName(), consumer.getEmail(), consumer.getAddress(), consumer.getActive(),
+                consumer.getCreatedDate(), consumer.getProfit());
+    }
+
+}
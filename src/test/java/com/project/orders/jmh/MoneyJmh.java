@@ -0,0 +1,112 @@
+package com.project.orders.jmh;
+
+import com.project.orders.service.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyJmh {
+
+    private static final int CLIENTS = 100;
+    private static final BigDecimal MIN_BALANCE = BigDecimal.valueOf(-1000);
+    private static final Money MIN_BALANCE_MONEY = Money.of(MIN_BALANCE);
+
+    @Param({"100", "1000"})
+    private int orders;
+
+    private List<UUID> clientIds;
+    private List<BigDecimal> prices;
+    private Map<UUID, BigDecimal> storedBalances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        clientIds = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+        prices = IntStream.range(0, orders)
+                .mapToObj(i -> BigDecimal.valueOf(1 + random.nextInt(10_000), Money.SCALE))
+                .toList();
+        storedBalances = clientIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> BigDecimal.valueOf(random.nextInt(100_000), Money.SCALE)));
+    }
+
+    @Benchmark
+    public Map<UUID, BigDecimal> bigDecimalBatch(Blackhole blackhole) {
+        var balances = new HashMap<>(storedBalances);
+        var balanceDeltas = new HashMap<UUID, BigDecimal>();
+
+        for (int i = 0; i < orders; i++) {
+            var price = prices.get(i);
+            var supplierId = clientIds.get(i % CLIENTS);
+            var consumerId = clientIds.get((i + 1) % CLIENTS);
+
+            if (BigDecimal.ZERO.compareTo(price) > -1) {
+                continue;
+            }
+
+            var consumerBalance = balances.getOrDefault(consumerId, BigDecimal.ZERO);
+            if (MIN_BALANCE.compareTo(consumerBalance.subtract(price)) > 0) {
+                continue;
+            }
+
+            balances.merge(supplierId, price, BigDecimal::add);
+            balances.put(consumerId, consumerBalance.subtract(price));
+            balanceDeltas.merge(supplierId, price, BigDecimal::add);
+            balanceDeltas.merge(consumerId, price.negate(), BigDecimal::add);
+            blackhole.consume(price);
+            blackhole.consume(price.negate());
+        }
+
+        return balanceDeltas;
+    }
+
+    @Benchmark
+    public Map<UUID, BigDecimal> moneyBatch(Blackhole blackhole) {
+        var balances = new HashMap<UUID, Money>();
+        storedBalances.forEach((clientId, balance) -> balances.put(clientId, Money.of(balance)));
+        var balanceDeltas = new HashMap<UUID, Money>();
+
+        for (int i = 0; i < orders; i++) {
+            var price = Money.of(prices.get(i));
+            var supplierId = clientIds.get(i % CLIENTS);
+            var consumerId = clientIds.get((i + 1) % CLIENTS);
+
+            if (!price.isPositive()) {
+                continue;
+            }
+
+            var consumerBalance = balances.getOrDefault(consumerId, Money.ZERO);
+            if (MIN_BALANCE_MONEY.compareTo(consumerBalance.minus(price)) > 0) {
+                continue;
+            }
+
+            balances.merge(supplierId, price, Money::plus);
+            balances.put(consumerId, consumerBalance.minus(price));
+            balanceDeltas.merge(supplierId, price, Money::plus);
+            balanceDeltas.merge(consumerId, price.negate(), Money::plus);
+            blackhole.consume(price.toBigDecimal());
+            blackhole.consume(price.negate().toBigDecimal());
+        }
+
+        var deltas = new HashMap<UUID, BigDecimal>();
+        balanceDeltas.forEach((clientId, delta) -> deltas.put(clientId, delta.toBigDecimal()));
+        return deltas;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.project.orders.jmh;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderCreationJmh {
+
+    private static final int CLIENTS = 100;
+    private static final BigDecimal PRICE = new BigDecimal("0.01");
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private String run;
+    private List<UUID> clientIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+        run = UUID.randomUUID().toString();
+
+        var clientService = context.getBean(ClientService.class);
+        clientIds = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> clientService.create(new ClientRequest("Jmh " + i, "%s-%d@jmh.test".formatted(run, i), null)).id())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        var i = sequence.getAndIncrement();
+        var supplierId = clientIds.get((int) (i % CLIENTS));
+        var consumerId = clientIds.get((int) ((i + 1) % CLIENTS));
+        return orderService.create(new OrderRequest("%s-%d".formatted(run, i), PRICE, supplierId, consumerId));
+    }
+
+}
@@ -0,0 +1,382 @@
+package com.project.orders.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.enums.OrderStatus;
+import com.project.orders.enums.ProfitGranularity;
+import com.project.orders.persistence.repository.ClientBalanceChangeRepository;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.persistence.repository.ClientRepository;
+import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.persistence.repository.OutboxEventRepository;
+import com.project.orders.persistence.repository.ProfitRefreshChunkRepository;
+import com.project.orders.persistence.specification.ClientSpecification;
+import com.project.orders.persistence.specification.KeysetCursor;
+import com.project.orders.persistence.specification.KeysetSpecification;
+import com.project.orders.persistence.specification.OrderSpecification;
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.service.order.OrderCreationSteps;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class QueryPlanRegressionTests {
+
+    private static final int CLIENTS = Integer.getInteger("queryplan.clients", 20_000);
+    private static final int ORDERS = Integer.getInteger("queryplan.orders", 100_000);
+    private static final int EVENTS = Integer.getInteger("queryplan.events", 100_000);
+    private static final int BUFFER_BUDGET = 200;
+    private static final int RECONCILIATION_BUFFERS_PER_CLIENT = 30;
+    private static final Set<String> HOT_TABLES = Set.of(
+            "clients", "orders", "client_balance_changes", "client_balances", "client_balance_snapshots", "client_profit_rollups",
+            "outbox_events");
+    private static final Pattern PARTITION = Pattern.compile("_p\\d{4}_\\d{2}$");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private RecordingDataSource recordingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientBalanceRepository clientBalanceRepository;
+
+    @Autowired
+    private ClientBalanceChangeRepository clientBalanceChangeRepository;
+
+    @Autowired
+    private ProfitRefreshChunkRepository profitRefreshChunkRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String supplierName;
+    private UUID supplierId;
+    private UUID consumerId;
+    private Order order;
+
+    @BeforeAll
+    void seed() {
+        var seeded = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM clients WHERE email LIKE '%@plans.test')", Boolean.class);
+        if (!seeded) {
+            transactionTemplate.executeWithoutResult(status -> seedVolumes());
+        }
+        var eventsSeeded = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM outbox_events WHERE payload @> '{\"plans\": true}')", Boolean.class);
+        if (!eventsSeeded) {
+            transactionTemplate.executeWithoutResult(status -> seedEvents());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            clientBalanceChangeRepository.rollUpProfit();
+            clientBalanceRepository.createSnapshots(1, clientBalanceRepository.findOldestTransactionStart());
+        });
+        jdbcTemplate.execute("VACUUM ANALYZE " + String.join(", ", HOT_TABLES));
+
+        var seededOrder = jdbcTemplate.queryForMap("SELECT supplier_id, consumer_id FROM orders WHERE name = 'plan-order-4242'");
+        supplierId = (UUID) seededOrder.get("supplier_id");
+        consumerId = (UUID) seededOrder.get("consumer_id");
+        supplierName = clientRepository.findById(supplierId).orElseThrow().getName();
+        order = orderRepository.findBy(OrderSpecification.get(supplierId, consumerId), query -> query.first()).orElseThrow();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (var table : List.of("client_balance_changes", "client_balances", "client_balance_snapshots", "client_profit_rollups")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE client_id IN (SELECT id FROM clients WHERE email LIKE '%@plans.test')");
+            }
+            jdbcTemplate.update("""
+                    DELETE FROM orders
+                    WHERE supplier_id IN (SELECT id FROM clients WHERE email LIKE '%@plans.test')
+                       OR consumer_id IN (SELECT id FROM clients WHERE email LIKE '%@plans.test')
+                    """);
+            jdbcTemplate.update("DELETE FROM clients WHERE email LIKE '%@plans.test'");
+            // The last position is kept so that publishing never reuses a position subscribers have already seen
+            jdbcTemplate.update("""
+                    DELETE FROM outbox_events
+                    WHERE payload @> '{"plans": true}'
+                      AND position < (SELECT MAX(position) FROM outbox_events)
+                    """);
+        });
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotQueriesUseIndexesWithinBufferBudget() {
+        var scenarios = new ArrayList<Map.Entry<String, Runnable>>();
+        var cursor = KeysetCursor.of(order);
+        var page = PageRequest.of(0, 20);
+
+        scenarios.add(Map.entry("client by id", () -> clientRepository.findById(supplierId)));
+        scenarios.add(Map.entry("client exists by email", () -> clientRepository.existsByEmail("client-4242@plans.test")));
+        scenarios.add(Map.entry("client snapshot by id", () -> clientRepository.findSnapshotById(supplierId)));
+        scenarios.add(Map.entry("client version by id", () -> clientRepository.findVersionById(supplierId)));
+        scenarios.add(Map.entry("client search page", () -> clientRepository.findAll(ClientSpecification.get(supplierName, null, null), page)));
+        scenarios.add(Map.entry("client cursor page", () -> clientRepository.findBy(
+                KeysetSpecification.<Client>after(null), query -> query.sortBy(KeysetSpecification.SORT).limit(21).all())));
+        scenarios.add(Map.entry("order by id", () -> orderRepository.findById(order.getId())));
+        scenarios.add(Map.entry("order lock by id", () -> orderRepository.findForUpdateById(order.getId())));
+        scenarios.add(Map.entry("order supplier page with profit", () -> orderRepository.findRows(
+                OrderSpecification.get(supplierId, null), page, true)));
+        scenarios.add(Map.entry("order consumer page with profit", () -> orderRepository.findRows(
+                OrderSpecification.get(null, consumerId), page, true)));
+        scenarios.add(Map.entry("order created date range page", () -> orderRepository.findRows(createdAroundOrder(), page, false)));
+        scenarios.add(Map.entry("order cursor page", () -> orderRepository.findRows(
+                OrderSpecification.get(null, null).and(KeysetSpecification.<Order>after(cursor)),
+                PageRequest.of(0, 21, KeysetSpecification.SORT), false)));
+        scenarios.add(Map.entry("order supplier cursor page", () -> orderRepository.findRows(
+                OrderSpecification.get(supplierId, null).and(KeysetSpecification.<Order>after(cursor)),
+                PageRequest.of(0, 21, KeysetSpecification.SORT), true)));
+        scenarios.add(Map.entry("order row by id with profit", () -> orderRepository.findRowById(order.getId(), true)));
+        scenarios.add(Map.entry("order version by id with profit", () -> orderRepository.findVersionById(order.getId(), true)));
+        scenarios.add(Map.entry("similar order exists", () -> orderRepository.isSimilarOrderExist("plan-order-4242", supplierId, consumerId)));
+        scenarios.add(Map.entry("order keys by name", () -> orderRepository.findKeysByNameIn(List.of("plan-order-4242"), OrderStatus.REJECTED)));
+        scenarios.add(Map.entry("unfinished order ids", () -> orderRepository.findIdsByStatusIn(List.of(OrderStatus.PENDING))));
+        scenarios.add(Map.entry("client balance", () -> clientBalanceRepository.getBalance(consumerId)));
+        scenarios.add(Map.entry("client ledger balance", () -> clientBalanceRepository.getLedgerBalance(consumerId)));
+        scenarios.add(Map.entry("client balance lock", () -> clientBalanceRepository.lockByClientId(consumerId)));
+        scenarios.add(Map.entry("client balance recalculation", () -> clientBalanceRepository.recalculateFromLedger(consumerId)));
+        scenarios.add(Map.entry("client ledger exists", () -> clientBalanceChangeRepository.existsByClientId(consumerId)));
+        scenarios.add(Map.entry("client profit refresh", () -> clientBalanceChangeRepository.refreshProfitForClient(consumerId)));
+        scenarios.add(Map.entry("client profit rollup", () -> {
+            clientBalanceChangeRepository.lockRollupPosition();
+            clientBalanceChangeRepository.rollUpProfit();
+        }));
+        scenarios.add(Map.entry("client balance snapshots", () -> {
+            clientBalanceRepository.lockSnapshotPosition();
+            clientBalanceRepository.createSnapshots(1000, clientBalanceRepository.findOldestTransactionStart());
+        }));
+        scenarios.add(Map.entry("client profit history", () -> clientBalanceChangeRepository.findProfitHistory(
+                consumerId, LocalDate.now().minusYears(1), LocalDate.now().plusDays(1), ProfitGranularity.MONTH.getUnit())));
+        scenarios.add(Map.entry("profit refresh chunk claim", () -> profitRefreshChunkRepository.claimPendingChunk(UUID.randomUUID())));
+        scenarios.add(Map.entry("outbox publish batch", () -> outboxEventRepository.publishBatch(500)));
+        scenarios.add(Map.entry("outbox last position", () -> outboxEventRepository.getLastPosition()));
+        scenarios.add(Map.entry("outbox events after position", () -> outboxEventRepository
+                .findByPositionGreaterThanAndPositionLessThanEqualOrderByPosition(EVENTS / 2, Long.MAX_VALUE, Limit.of(500))));
+        scenarios.add(Map.entry("outbox retention delete", () -> outboxEventRepository
+                .deletePublishedBefore(ZonedDateTime.now().minusDays(7), 500)));
+        scenarios.add(Map.entry("order creation", () -> orderCreationSteps.complete(
+                new OrderRequest("plan-order-new", BigDecimal.ONE, supplierId, consumerId), ZonedDateTime.now())));
+
+        return scenarios.stream()
+                .map(scenario -> DynamicTest.dynamicTest(scenario.getKey(), () -> assertPlans(scenario.getValue())));
+    }
+
+    @Test
+    void ledgerReconciliationReadsEachClientThroughIndexes() throws Exception {
+        var clients = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clients", Long.class);
+
+        for (var plan : explainPlans(() -> clientBalanceRepository.findMismatchesWithLedger())) {
+            var buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+
+            assertThat(seqScannedTables(plan))
+                    .as("sequential scans in plan%n%s", plan.toPrettyString())
+                    .doesNotContain("client_balance_changes");
+            assertThat(buffers)
+                    .as("buffers used by plan%n%s", plan.toPrettyString())
+                    .isLessThanOrEqualTo(clients * RECONCILIATION_BUFFERS_PER_CLIENT);
+        }
+    }
+
+    @Test
+    void createdDateRangeScansSinglePartition() throws Exception {
+        var plans = explainPlans(() -> orderRepository.findRows(createdAroundOrder(), PageRequest.of(0, 20), false));
+
+        assertThat(plans.stream().flatMap(plan -> scannedPartitions(plan).stream()).distinct())
+                .as("partitions scanned by plans%n%s", plans)
+                .containsExactly("orders_p" + order.getCreatedDate().withZoneSameInstant(ZoneOffset.UTC).format(PARTITION_MONTH));
+    }
+
+    private Specification<Order> createdAroundOrder() {
+        return OrderSpecification.get(null, null, order.getCreatedDate().minusSeconds(5), order.getCreatedDate().plusSeconds(1));
+    }
+
+    private void assertPlans(Runnable scenario) throws Exception {
+        for (var plan : explainPlans(scenario)) {
+            var buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+
+            assertThat(seqScannedTables(plan))
+                    .as("sequential scans in plan%n%s", plan.toPrettyString())
+                    .doesNotContainAnyElementsOf(HOT_TABLES);
+            assertThat(buffers)
+                    .as("buffers used by plan%n%s", plan.toPrettyString())
+                    .isLessThanOrEqualTo(BUFFER_BUDGET);
+        }
+    }
+
+    private List<JsonNode> explainPlans(Runnable scenario) throws Exception {
+        List<RecordedStatement> statements;
+        recordingDataSource.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                scenario.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statements = recordingDataSource.stop();
+        }
+
+        assertThat(statements).isNotEmpty();
+
+        var plans = new ArrayList<JsonNode>();
+        try (var connection = recordingDataSource.getTargetDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (var statement : statements) {
+                    plans.add(explain(connection, statement));
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+        return plans;
+    }
+
+    private JsonNode explain(Connection connection, RecordedStatement statement) throws Exception {
+        try (var explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+            statement.bind(explain);
+            try (var resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private static List<String> seqScannedTables(JsonNode plan) {
+        var tables = new ArrayList<String>();
+        var relation = plan.path("Relation Name").asText();
+        var partition = PARTITION.matcher(relation);
+        var buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+
+        if ("Seq Scan".equals(plan.path("Node Type").asText()) && (!partition.find() || buffers > 0)) {
+            tables.add(partition.replaceFirst(""));
+        }
+        plan.path("Plans").forEach(child -> tables.addAll(seqScannedTables(child)));
+        return tables;
+    }
+
+    private static Set<String> scannedPartitions(JsonNode plan) {
+        var partitions = new HashSet<String>();
+        var relation = plan.path("Relation Name").asText();
+
+        if (PARTITION.matcher(relation).find() && plan.path("Actual Loops").asLong() > 0) {
+            partitions.add(relation);
+        }
+        plan.path("Plans").forEach(child -> partitions.addAll(scannedPartitions(child)));
+        return partitions;
+    }
+
+    private void seedVolumes() {
+        jdbcTemplate.update("""
+                INSERT INTO clients(name, email, address, created_date)
+                SELECT initcap(substr(md5(g || 'name'), 1, 8)), 'client-' || g || '@plans.test',
+                       initcap(substr(md5(g || 'street'), 1, 7)) || ' street ' || g % 300,
+                       now() - g * INTERVAL '1 minute'
+                FROM generate_series(1, ?) g
+                """, CLIENTS);
+        jdbcTemplate.update("""
+                WITH plan_clients AS (SELECT array_agg(id ORDER BY email) AS ids, count(*) AS total
+                                      FROM clients
+                                      WHERE email LIKE '%@plans.test')
+                INSERT INTO orders(name, price, supplier_id, consumer_id, status, created_date)
+                SELECT 'plan-order-' || g, 1 + g % 100, ids[1 + g % total], ids[1 + (g * 7 + 1) % total],
+                       'COMPLETED', now() - g * INTERVAL '1 second'
+                FROM plan_clients, generate_series(1, ?) g
+                """, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO client_balance_changes(client_id, order_id, amount, change_type)
+                SELECT o.supplier_id, o.id, o.price, 'ORDER_CREATION'::client_balance_change_type
+                FROM orders o
+                WHERE o.name LIKE 'plan-order-%'
+                UNION ALL
+                SELECT o.consumer_id, o.id, - o.price, 'ORDER_CREATION'::client_balance_change_type
+                FROM orders o
+                WHERE o.name LIKE 'plan-order-%'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO client_balances(client_id, balance)
+                SELECT c.id, COALESCE((SELECT SUM(cbc.amount) FROM client_balance_changes cbc WHERE cbc.client_id = c.id), 0)
+                FROM clients c
+                WHERE c.email LIKE '%@plans.test'
+                ON CONFLICT (client_id) DO NOTHING
+                """);
+    }
+
+    private void seedEvents() {
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events(event_type, aggregate_id, payload, position, created_date, published_date)
+                SELECT 'CLIENT_UPDATED'::outbox_event_type, gen_random_uuid(), jsonb_build_object('plans', true, 'index', g),
+                       last.position + g, now() - (? - g) * INTERVAL '1 second', now()
+                FROM (SELECT COALESCE(MAX(position), 0) AS position FROM outbox_events) last, generate_series(1, ?) g
+                """, EVENTS, EVENTS);
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                        return new RecordingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+
+            };
+        }
+
+    }
+
+}
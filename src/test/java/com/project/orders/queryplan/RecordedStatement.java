@@ -0,0 +1,28 @@
+package com.project.orders.queryplan;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+record RecordedStatement(String sql, List<Parameter> parameters) {
+
+    void bind(PreparedStatement statement) throws Exception {
+        for (var parameter : parameters) {
+            parameter.bind(statement);
+        }
+    }
+
+    record Parameter(Method setter, Object[] args) {
+
+        void bind(PreparedStatement statement) throws Exception {
+            try {
+                setter.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw (Exception) e.getCause();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.project.orders.queryplan;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class RecordingDataSource extends DelegatingDataSource {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    private volatile boolean recording;
+
+    RecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recordingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recordingConnection(super.getConnection(username, password));
+    }
+
+    private Connection recordingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    var result = invoke(connection, method, args);
+
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        return recordingStatement(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+        var parameters = new ArrayList<RecordedStatement.Parameter>();
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            var name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.add(new RecordedStatement.Parameter(method, args));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (recording && (name.equals("addBatch") || name.startsWith("execute") && !name.equals("executeBatch"))) {
+                statements.add(new RecordedStatement(sql, List.copyOf(parameters)));
+            }
+            return invoke(statement, method, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientCache;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderCreationSteps;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ClientCacheTests {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientCache clientCache;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void clientDeactivationIsVisibleToOrderValidation() {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@orders.test".formatted(run), null));
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+
+        orderCreationSteps.validate(orderRequest);
+        assertThat(clientCache.findById(consumer.id())).hasValueSatisfying(client -> assertThat(client.active()).isTrue());
+
+        clientService.setActive(consumer.id(), false);
+
+        assertThat(clientCache.findById(consumer.id())).hasValueSatisfying(client -> assertThat(client.active()).isFalse());
+        assertThatThrownBy(() -> orderCreationSteps.validate(orderRequest))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Client 'Consumer' is not active");
+    }
+
+    @Test
+    void staleCachedClientsAreRecheckedOnCompletion() {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@orders.test".formatted(run), null));
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+
+        orderCreationSteps.validate(orderRequest);
+        jdbcTemplate.update("UPDATE clients SET active = FALSE WHERE id = ?", consumer.id());
+
+        assertThat(clientCache.findById(consumer.id())).hasValueSatisfying(client -> assertThat(client.active()).isTrue());
+        assertThatThrownBy(() -> orderCreationSteps.complete(orderRequest, ZonedDateTime.now()))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Client 'Consumer' is not active");
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.exception.ApiException;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ConsumerBalanceReservations;
+import com.project.orders.service.order.OrderCreationSteps;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ConsumerBalanceReservationTests {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS = 60;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private ConsumerBalanceReservations consumerBalanceReservations;
+
+    @Autowired
+    private ClientBalanceRepository clientBalanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentOrdersNeverDecreaseConsumerBalanceBelowLimit() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@orders.test".formatted(run), null));
+
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < ORDERS; i++) {
+            var orderRequest = new OrderRequest("Order %s-%d".formatted(run, i), BigDecimal.valueOf(70), supplier.id(), consumer.id());
+            tasks.add(() -> {
+                start.await();
+                try {
+                    consumerBalanceReservations.reserve(consumer.id(),
+                            () -> orderCreationSteps.complete(orderRequest, ZonedDateTime.now()));
+                    return true;
+                } catch (ApiException e) {
+                    return false;
+                }
+            });
+        }
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var created = 0;
+        try {
+            var futures = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                if (future.get()) {
+                    created++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var ledgerBalance = jdbcTemplate.queryForObject(
+                "SELECT SUM(amount) FROM client_balance_changes WHERE client_id = ?", BigDecimal.class, consumer.id());
+
+        assertThat(created).isEqualTo(14);
+        assertThat(clientBalanceRepository.getBalance(consumer.id())).isEqualByComparingTo("-980");
+        assertThat(ledgerBalance).isEqualByComparingTo("-980");
+    }
+
+}
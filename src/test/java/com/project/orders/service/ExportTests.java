@@ -0,0 +1,101 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.enums.ExportFormat;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.export.ExportSteps;
+import com.project.orders.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "orders.processing.delay.min=0ms",
+        "orders.processing.delay.max=0ms",
+        "spring.jpa.show-sql=false"
+})
+class ExportTests {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ordersAndStatementsAreStreamedWithFilters() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@export.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@export.test".formatted(run), null));
+
+        var start = ZonedDateTime.now();
+        orderService.create(new OrderRequest("Order, \"first\" " + run, BigDecimal.ONE, supplier.id(), consumer.id()));
+        var middle = ZonedDateTime.now();
+        orderService.create(new OrderRequest("Order second " + run, BigDecimal.TEN, supplier.id(), consumer.id()));
+
+        var csv = read(orderService.export(supplier.id(), null, null, null, ExportFormat.CSV));
+        assertThat(csv).hasSize(3);
+        assertThat(csv.get(0)).isEqualTo("id,name,price,status,rejectionReason,supplierId,consumerId,startProcessingDate,endProcessingDate,createdDate");
+        assertThat(csv.get(2)).contains("\"Order, \"\"first\"\" %s\"".formatted(run));
+
+        var ndjson = read(orderService.export(null, consumer.id(), start, middle, ExportFormat.NDJSON));
+        assertThat(ndjson).singleElement().asString().contains("\"price\":1").contains("\"supplierId\":\"%s\"".formatted(supplier.id()));
+
+        var statement = read(clientBalanceChangeService.exportStatement(consumer.id(), null, null, ExportFormat.CSV));
+        assertThat(statement).hasSize(3);
+        assertThat(statement.get(1)).contains("ORDER_CREATION,-1");
+        assertThat(statement.get(2)).contains("ORDER_CREATION,-10");
+
+        assertThatThrownBy(() -> orderService.export(null, null, middle, start, ExportFormat.CSV))
+                .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> clientBalanceChangeService.exportStatement(UUID.randomUUID(), null, null, ExportFormat.CSV))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Client not found by id");
+    }
+
+    @Test
+    void statementsAreExportedInChunks() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var client = clientService.create(new ClientRequest("Client", "client-%s@export.test".formatted(run), null));
+        var changes = ExportSteps.CHUNK_SIZE * 2 + 1;
+        jdbcTemplate.update("""
+                INSERT INTO client_balance_changes(client_id, amount, change_type)
+                SELECT ?, 1, 'ADJUSTMENT'
+                FROM generate_series(1, ?)
+                """, client.id(), changes);
+
+        var statement = read(clientBalanceChangeService.exportStatement(client.id(), null, null, ExportFormat.CSV));
+
+        assertThat(statement).hasSize(changes + 1);
+        assertThat(statement.subList(1, statement.size())).doesNotHaveDuplicates()
+                .allSatisfy(line -> assertThat(line).contains("ADJUSTMENT,1"));
+    }
+
+    private static List<String> read(StreamingResponseBody body) throws Exception {
+        var outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.project.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.orders.config.IdempotencyProperties;
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.dto.response.OrderResponse;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.idempotency.IdempotencySteps;
+import com.project.orders.service.idempotency.IdempotentRequests;
+import com.project.orders.service.order.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "orders.processing.delay.min=500ms",
+        "orders.processing.delay.max=500ms",
+        "spring.jpa.show-sql=false"
+})
+class IdempotencyTests {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private IdempotencySteps idempotencySteps;
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String run;
+    private ClientResponse supplier;
+    private ClientResponse consumer;
+
+    @BeforeEach
+    void createClients() {
+        run = UUID.randomUUID().toString();
+        supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@idempotency.test".formatted(run), null));
+        consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@idempotency.test".formatted(run), null));
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheOriginal() {
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+
+        var responses = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> orderService.create(orderRequest, run)).thenCompose(response -> response))
+                .toList();
+
+        assertThat(responses).extracting(response -> response.get(10, TimeUnit.SECONDS).id())
+                .containsOnly(responses.get(0).join().id());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE name = ?", Long.class, orderRequest.name()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void completedDuplicatesAreReplayed() {
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+        var order = orderService.create(orderRequest, run).join();
+
+        var start = System.nanoTime();
+        var replayed = orderService.create(orderRequest, run).join();
+
+        assertThat(replayed).usingRecursiveComparison()
+                .withComparatorForType(ChronoZonedDateTime.timeLineOrder(), ZonedDateTime.class)
+                .isEqualTo(order);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+        assertThatThrownBy(() -> orderService.create(new OrderRequest("Other " + run, BigDecimal.ONE, supplier.id(), consumer.id()), run).join())
+                .hasCauseInstanceOf(ApiException.class)
+                .hasMessageContaining("different request");
+    }
+
+    @Test
+    void clientErrorsAreReplayed() {
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), UUID.randomUUID());
+
+        assertThatThrownBy(() -> orderService.create(orderRequest, run).join())
+                .hasCauseInstanceOf(ApiException.class)
+                .hasMessageContaining("Client not found by id");
+        assertThatThrownBy(() -> orderService.create(orderRequest, run).join())
+                .hasCauseInstanceOf(ApiException.class)
+                .hasMessageContaining("Client not found by id");
+    }
+
+    @Test
+    void storedResponsesAreReplayedWithoutCachedResponse() {
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+        var order = orderService.create(orderRequest, run).join();
+
+        var restartedRequests = new IdempotentRequests(idempotencySteps, objectMapper, properties, new SimpleMeterRegistry());
+        var replayed = restartedRequests.<OrderResponse>execute(run, orderRequest, OrderResponse.class, onCompleted -> {
+            throw new AssertionError("Stored request must not be executed again");
+        }).join();
+
+        assertThat(replayed).usingRecursiveComparison()
+                .withComparatorForType(ChronoZonedDateTime.timeLineOrder(), ZonedDateTime.class)
+                .isEqualTo(order);
+    }
+
+    @Test
+    void equalPricesShareTheKey() {
+        var order = orderService.create(new OrderRequest("Order " + run, new BigDecimal("10.0"), supplier.id(), consumer.id()), run).join();
+
+        var replayed = orderService.create(new OrderRequest("Order " + run, new BigDecimal("10.00"), supplier.id(), consumer.id()), run).join();
+
+        assertThat(replayed.id()).isEqualTo(order.id());
+    }
+
+    @Test
+    void claimedKeysAreNotExecutedAgain() {
+        var orderRequest = new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id());
+        var otherInstance = new IdempotentRequests(idempotencySteps, objectMapper, properties, new SimpleMeterRegistry());
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var original = CompletableFuture.runAsync(() -> otherInstance.<OrderResponse>execute(run, orderRequest, OrderResponse.class, onCompleted -> {
+            started.countDown();
+            await(release);
+            throw new ApiException(500, "Original request failed");
+        }));
+        await(started);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM idempotency_keys WHERE idempotency_key = ?", String.class, run))
+                .isEqualTo("IN_PROGRESS");
+        assertThatThrownBy(() -> orderService.create(orderRequest, run).join())
+                .hasCauseInstanceOf(ApiException.class)
+                .hasMessageContaining("still in progress");
+
+        release.countDown();
+        original.handle((result, e) -> result).join();
+
+        assertThat(orderService.create(orderRequest, run).join().name()).isEqualTo(orderRequest.name());
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM idempotency_keys WHERE idempotency_key = ?", String.class, run))
+                .isEqualTo("COMPLETED");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderBatchRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.OrderBatchItemResponse;
+import com.project.orders.dto.response.OrderBatchResponse;
+import com.project.orders.persistence.repository.OrderRepository;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderCreationSteps;
+import com.project.orders.service.order.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "orders.processing.delay.min=0s",
+        "orders.processing.delay.max=0s"
+})
+class OrderBatchTests {
+
+    private static final Duration LOCK_WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void invalidItemsAreRejectedBeforeProcessingDelay() {
+        var run = UUID.randomUUID().toString();
+        var supplier = createClient("supplier", run);
+        var consumer = createClient("consumer", run);
+        var delays = processingDelays();
+
+        var rejected = orderService.createBatch(new OrderBatchRequest(List.of(
+                new OrderRequest("Order %s-0".formatted(run), BigDecimal.TEN, supplier, supplier),
+                new OrderRequest("Order %s-1".formatted(run), BigDecimal.TEN, supplier, UUID.randomUUID()))));
+
+        assertThat(rejected.created()).isZero();
+        assertThat(rejected.items()).extracting(OrderBatchItemResponse::status).containsExactly(400, 404);
+        assertThat(processingDelays()).isEqualTo(delays);
+
+        var mixed = orderService.createBatch(new OrderBatchRequest(List.of(
+                new OrderRequest("Order %s-2".formatted(run), BigDecimal.TEN, supplier, supplier),
+                new OrderRequest("Order %s-3".formatted(run), BigDecimal.TEN, supplier, consumer))));
+
+        assertThat(mixed.created()).isEqualTo(1);
+        assertThat(mixed.failed()).isEqualTo(1);
+        assertThat(mixed.items()).extracting(OrderBatchItemResponse::index).containsExactly(0, 1);
+        assertThat(mixed.items()).extracting(OrderBatchItemResponse::status).containsExactly(400, 201);
+        assertThat(mixed.items().get(1).orderId()).isNotNull();
+        assertThat(processingDelays()).isEqualTo(delays + 1);
+    }
+
+    @Test
+    void concurrentlyRegisteredOrderFailsOnlyItsBatchItem() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = createClient("supplier", run);
+        var consumer = createClient("consumer", run);
+        var racingOrder = new OrderRequest("Order %s-0".formatted(run), BigDecimal.TEN, supplier, consumer);
+
+        var registered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+        OrderBatchResponse response;
+        try {
+            var registration = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                orderCreationSteps.register(racingOrder);
+                orderRepository.flush();
+                registered.countDown();
+                await(release);
+            }));
+            assertThat(registered.await(LOCK_WAIT_TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+            var batch = executor.submit(() -> orderService.createBatch(new OrderBatchRequest(List.of(racingOrder,
+                    new OrderRequest("Order %s-1".formatted(run), BigDecimal.TEN, supplier, consumer)))));
+            awaitLockWait();
+            release.countDown();
+            registration.get(LOCK_WAIT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+            response = batch.get(LOCK_WAIT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items()).extracting(OrderBatchItemResponse::status).containsExactly(409, 201);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE consumer_id = ?", Integer.class, consumer))
+                .isEqualTo(2);
+    }
+
+    private UUID createClient(String role, String run) {
+        return clientService.create(new ClientRequest(role, "%s-%s@orders.test".formatted(role, run), null)).id();
+    }
+
+    private long processingDelays() {
+        var timer = meterRegistry.find("orders.service.stage")
+                .tags("operation", "order.createBatch", "stage", "processing_delay")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        var deadline = System.nanoTime() + LOCK_WAIT_TIMEOUT.toNanos();
+        while (!isWaitingForLock()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean isWaitingForLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_stat_activity
+                               WHERE datname = current_database() AND wait_event_type = 'Lock')
+                """, Boolean.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
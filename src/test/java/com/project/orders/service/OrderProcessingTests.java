@@ -0,0 +1,163 @@
+package com.project.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.OrderStatusResponse;
+import com.project.orders.enums.OrderStatus;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderCreationSteps;
+import com.project.orders.service.order.OrderProcessingWorker;
+import com.project.orders.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "orders.processing.delay.min=200ms",
+        "orders.processing.delay.max=200ms"
+})
+class OrderProcessingTests {
+
+    private static final Duration PROCESSING_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private OrderProcessingWorker orderProcessingWorker;
+
+    @Autowired
+    private ThreadPoolTaskExecutor orderProcessingExecutor;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void submittedOrderIsCompletedByWorker() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = createClient("supplier", run);
+        var consumer = createClient("consumer", run);
+
+        var accepted = submit(new OrderRequest("Order " + run, BigDecimal.TEN, supplier, consumer));
+
+        assertThat(accepted.status()).isEqualTo(OrderStatus.PENDING);
+        var processed = awaitProcessed(accepted.id());
+        assertThat(processed.status()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(processed.endProcessingDate()).isNotNull();
+        assertThat(balanceChanges(accepted.id())).isEqualTo(2);
+    }
+
+    @Test
+    void orderExceedingBalanceLimitAfterSubmissionIsRejectedByWorker() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = createClient("supplier", run);
+        var consumer = createClient("consumer", run);
+        var price = BigDecimal.valueOf(600);
+
+        var first = submit(new OrderRequest("Order %s-0".formatted(run), price, supplier, consumer));
+        var second = submit(new OrderRequest("Order %s-1".formatted(run), price, supplier, consumer));
+
+        var processed = List.of(awaitProcessed(first.id()), awaitProcessed(second.id()));
+        assertThat(processed).extracting(OrderStatusResponse::status)
+                .containsExactlyInAnyOrder(OrderStatus.COMPLETED, OrderStatus.REJECTED);
+        assertThat(processed).filteredOn(order -> order.status() == OrderStatus.REJECTED)
+                .singleElement()
+                .satisfies(order -> {
+                    assertThat(order.rejectionReason()).isNotBlank();
+                    assertThat(balanceChanges(order.id())).isZero();
+                });
+    }
+
+    @Test
+    void duplicateEnqueueIsNoOp() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = createClient("supplier", run);
+        var consumer = createClient("consumer", run);
+        var accepted = submit(new OrderRequest("Order " + run, BigDecimal.TEN, supplier, consumer));
+
+        orderProcessingWorker.enqueue(accepted.id());
+        var processed = awaitProcessed(accepted.id());
+        orderProcessingWorker.enqueue(accepted.id());
+        awaitIdleWorkers();
+
+        assertThat(processed.status()).isEqualTo(OrderStatus.COMPLETED);
+
+        assertThat(orderCreationSteps.startProcessing(accepted.id())).isFalse();
+        assertThat(orderCreationSteps.completeProcessing(accepted.id())).isEmpty();
+        assertThat(orderCreationSteps.reject(accepted.id(), "Duplicate run")).isEmpty();
+        assertThat(orderService.getStatus(accepted.id())).isEqualTo(processed);
+        assertThat(balanceChanges(accepted.id())).isEqualTo(2);
+    }
+
+    private OrderStatusResponse submit(OrderRequest orderRequest) throws Exception {
+        var response = mockMvc.perform(post("/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/status")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, OrderStatusResponse.class);
+    }
+
+    private OrderStatusResponse awaitProcessed(UUID orderId) throws InterruptedException {
+        var deadline = System.nanoTime() + PROCESSING_TIMEOUT.toNanos();
+        while (true) {
+            var order = orderService.getStatus(orderId);
+            if (order.status() == OrderStatus.COMPLETED || order.status() == OrderStatus.REJECTED) {
+                return order;
+            }
+            assertThat(System.nanoTime()).as("order %s processed in time", orderId).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitIdleWorkers() throws InterruptedException {
+        var deadline = System.nanoTime() + PROCESSING_TIMEOUT.toNanos();
+        while (orderProcessingExecutor.getActiveCount() > 0 || orderProcessingExecutor.getQueueSize() > 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private long balanceChanges(UUID orderId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client_balance_changes WHERE order_id = ?", Long.class, orderId);
+    }
+
+    private UUID createClient(String role, String run) {
+        return clientService.create(new ClientRequest(role, "%s-%s@processing.test".formatted(role, run), null)).id();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.OutboxEventResponse;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.order.OrderService;
+import com.project.orders.service.outbox.OutboxRelay;
+import com.project.orders.service.outbox.OutboxSteps;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.orders.enums.OutboxEventType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "orders.processing.delay.min=0ms",
+        "orders.processing.delay.max=0ms",
+        "spring.jpa.show-sql=false"
+})
+class OutboxTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxSteps outboxSteps;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void committedChangesArePublishedInOrder() {
+        var run = UUID.randomUUID().toString();
+        var start = outboxSteps.getLastPosition();
+
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@outbox.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@outbox.test".formatted(run), null));
+        var order = orderService.create(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()));
+        assertThatThrownBy(() -> orderService.create(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id())))
+                .isInstanceOf(ApiException.class);
+        clientService.setActive(supplier.id(), false);
+        clientBalanceChangeService.refreshProfitForClient(consumer.id());
+
+        outboxRelay.relay();
+
+        var events = outboxSteps.findPublished(start, Long.MAX_VALUE, 10_000).stream()
+                .filter(event -> Set.of(supplier.id(), consumer.id(), order.id()).contains(event.aggregateId()))
+                .toList();
+        assertThat(events).extracting(OutboxEventResponse::eventType)
+                .containsExactly(CLIENT_CREATED, CLIENT_CREATED, ORDER_CREATED, CLIENT_ACTIVE_CHANGED, CLIENT_BALANCE_REFRESHED);
+        assertThat(events).extracting(OutboxEventResponse::position).isSorted();
+        assertThat(events.get(2).payload()).contains(order.id().toString(), supplier.id().toString(), consumer.id().toString());
+    }
+
+    @Test
+    void expiredEventsAreDeletedExceptTheLastPosition() {
+        var run = UUID.randomUUID().toString();
+        var expired = clientService.create(new ClientRequest("Expired", "expired-%s@outbox.test".formatted(run), null));
+        outboxRelay.relay();
+        jdbcTemplate.update("UPDATE outbox_events SET published_date = now() - INTERVAL '30 days' WHERE aggregate_id = ?", expired.id());
+        var last = clientService.create(new ClientRequest("Last", "last-%s@outbox.test".formatted(run), null));
+        outboxRelay.relay();
+        jdbcTemplate.update("UPDATE outbox_events SET published_date = now() - INTERVAL '30 days' WHERE aggregate_id = ?", last.id());
+        var lastPosition = outboxSteps.getLastPosition();
+
+        assertThat(outboxSteps.deleteExpired()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?", Long.class, expired.id()))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?", Long.class, last.id()))
+                .isOne();
+        assertThat(outboxSteps.getLastPosition()).isEqualTo(lastPosition);
+    }
+
+    @Test
+    void streamReplaysEventsAfterPosition() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var start = outboxSteps.getLastPosition();
+        var client = clientService.create(new ClientRequest("Client", "client-%s@outbox.test".formatted(run), null));
+        outboxRelay.relay();
+
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:%d/events?after=%d".formatted(port, start))).build();
+        var response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/event-stream"));
+
+        var received = CompletableFuture.supplyAsync(() -> response.body()
+                .anyMatch(line -> line.startsWith("data:") && line.contains(client.id().toString())
+                        && line.contains(CLIENT_CREATED.name())));
+        assertThat(received.get(10, TimeUnit.SECONDS)).isTrue();
+        response.body().close();
+    }
+
+}
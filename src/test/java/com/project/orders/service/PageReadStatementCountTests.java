@@ -0,0 +1,129 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.persistence.model.Client;
+import com.project.orders.persistence.model.ClientBalanceChange;
+import com.project.orders.persistence.model.Order;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderCreationSteps;
+import com.project.orders.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "orders.outbox.poll-interval=1h"
+})
+class PageReadStatementCountTests {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID supplierId;
+
+    @BeforeEach
+    void setUp() {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        supplierId = supplier.id();
+
+        for (int i = 0; i < PAGE_SIZE + 5; i++) {
+            var consumer = clientService.create(new ClientRequest("Consumer " + i, "consumer-%s-%d@orders.test".formatted(run, i), null));
+            var orderRequest = new OrderRequest("Order %s-%d".formatted(run, i), BigDecimal.ONE, supplier.id(), consumer.id());
+            orderCreationSteps.complete(orderRequest, ZonedDateTime.now());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void orderPageIsReadWithPageAndCountStatementsOnly() {
+        var page = orderService.getAll(null, null, PageRequest.of(0, PAGE_SIZE), true);
+
+        assertThat(page.content()).hasSize(PAGE_SIZE);
+        assertThat(page.content()).allSatisfy(order -> assertThat(order.consumer().profit()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void orderPageWithoutProfitIsReadWithPageAndCountStatementsOnly() {
+        var page = orderService.getAll(null, null, PageRequest.of(0, PAGE_SIZE), false);
+
+        assertThat(page.content()).hasSize(PAGE_SIZE);
+        assertThat(page.content()).allSatisfy(order -> {
+            assertThat(order.supplier().name()).isNotNull();
+            assertThat(order.consumer().name()).isNotNull();
+            assertThat(order.consumer().profit()).isNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void lastOrderPageIsReadWithSingleStatement() {
+        var page = orderService.getAll(supplierId, null, PageRequest.of(0, PAGE_SIZE * 2), true);
+
+        assertThat(page.content()).hasSize(PAGE_SIZE + 5);
+        assertThat(page.totalElements()).isEqualTo(PAGE_SIZE + 5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void orderCursorPageAndOrderAreReadWithSingleStatement() {
+        var page = orderService.getAll(null, null, null, PAGE_SIZE, true);
+
+        assertThat(page.content()).hasSize(PAGE_SIZE);
+        assertThat(page.next()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        var order = orderService.getById(page.content().get(0).id(), true);
+
+        assertThat(order.supplier().profit()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void clientPageIsReadWithPageAndCountStatementsOnly() {
+        var page = clientService.getAll(null, null, null, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(page.content()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(ClientBalanceChange.class.getName()).getLoadCount()).isZero();
+    }
+
+    private void assertNoEntitiesLoaded() {
+        assertThat(statistics.getEntityStatistics(Order.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Client.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(ClientBalanceChange.class.getName()).getLoadCount()).isZero();
+    }
+
+}
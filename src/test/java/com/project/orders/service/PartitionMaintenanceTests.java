@@ -0,0 +1,164 @@
+package com.project.orders.service;
+
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.partition.PartitionSteps;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PartitionMaintenanceTests {
+
+    private static final String SCHEMA = "partition_maintenance_test";
+    private static final ZonedDateTime PAST_MONTH = ZonedDateTime.of(1999, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime FUTURE_MONTH = ZonedDateTime.of(2099, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private PartitionSteps partitionSteps;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void createSchema() {
+        jdbcTemplate.execute("""
+                DROP SCHEMA IF EXISTS %1$s CASCADE;
+                CREATE SCHEMA %1$s;
+                CREATE TABLE %1$s.orders (LIKE public.orders INCLUDING DEFAULTS) PARTITION BY RANGE (created_date);
+                CREATE TABLE %1$s.orders_default PARTITION OF %1$s.orders DEFAULT;
+                CREATE TABLE %1$s.client_balance_changes (LIKE public.client_balance_changes INCLUDING DEFAULTS)
+                    PARTITION BY RANGE (created_date);
+                CREATE TABLE %1$s.client_balance_changes_default PARTITION OF %1$s.client_balance_changes DEFAULT;
+                CREATE TABLE %1$s.order_keys (LIKE public.order_keys INCLUDING ALL);
+                CREATE TRIGGER orders_reserve_order_key AFTER INSERT ON %1$s.orders
+                    FOR EACH ROW WHEN (NEW.status <> 'REJECTED') EXECUTE FUNCTION public.reserve_order_key();
+                """.formatted(SCHEMA));
+    }
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS %s CASCADE".formatted(SCHEMA));
+    }
+
+    @Test
+    void partitionsAreCreatedOnce() {
+        assertThat(inTestSchema(() -> partitionSteps.createPartitions(FUTURE_MONTH, FUTURE_MONTH.plusMonths(1)))).isEqualTo(4);
+        assertThat(inTestSchema(() -> partitionSteps.createPartitions(FUTURE_MONTH, FUTURE_MONTH.plusMonths(1)))).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::TEXT", String.class, SCHEMA + ".orders_p2099_02"))
+                .isEqualTo(SCHEMA + ".orders_p2099_02");
+    }
+
+    @Test
+    void defaultPartitionRowsAreMovedIntoNewPartitions() {
+        var name = "partition-order-" + UUID.randomUUID();
+        insertOrder(name, "COMPLETED", FUTURE_MONTH.plusDays(3));
+
+        assertThat(inTestSchema(() -> partitionSteps.createPartitions(FUTURE_MONTH, FUTURE_MONTH))).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.orders_default".formatted(SCHEMA), Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.orders_p2099_01 WHERE name = ?".formatted(SCHEMA),
+                Long.class, name))
+                .isOne();
+    }
+
+    @Test
+    void partitionsWithUnfinishedOrdersAreKept() {
+        var name = "partition-order-" + UUID.randomUUID();
+        inTestSchema(() -> partitionSteps.createPartitions(PAST_MONTH, PAST_MONTH));
+        insertOrder(name, "PENDING", PAST_MONTH.plusDays(14));
+
+        assertThat(inTestSchema(() -> partitionSteps.detachPartitions(PAST_MONTH.plusMonths(1))))
+                .containsExactly("client_balance_changes_p1999_01");
+
+        jdbcTemplate.update("UPDATE %s.orders SET status = 'COMPLETED' WHERE name = ?".formatted(SCHEMA), name);
+
+        assertThat(inTestSchema(() -> partitionSteps.detachPartitions(PAST_MONTH.plusMonths(1))))
+                .containsExactly("orders_p1999_01");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.orders WHERE name = ?".formatted(SCHEMA), Long.class, name))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.order_keys WHERE name = ?".formatted(SCHEMA), Long.class, name))
+                .isZero();
+    }
+
+    @Test
+    void backDatedLedgerChangesAreRejected() {
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO client_balance_changes(client_id, amount, change_type, created_date)
+                VALUES (?, 1, 'ADJUSTMENT', now() - INTERVAL '2 hours')
+                """, UUID.randomUUID()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("more than 1 hour before its transaction");
+    }
+
+    @Test
+    void snapshotsKeepChangesDatedBeforeLaterTransactions() throws Exception {
+        var clientId = jdbcTemplate.queryForObject("INSERT INTO clients(name, email) VALUES ('Ledger', ?) RETURNING id",
+                UUID.class, "ledger-%s@partitions.test".formatted(UUID.randomUUID()));
+        jdbcTemplate.update("INSERT INTO client_balance_changes(client_id, amount, change_type) VALUES (?, 1, 'ADJUSTMENT')", clientId);
+
+        try (var late = dataSource.getConnection(); var holder = dataSource.getConnection()) {
+            late.setAutoCommit(false);
+            holder.setAutoCommit(false);
+            late.createStatement().execute("SELECT now()");
+            Thread.sleep(2000);
+            holder.createStatement().execute("SELECT pg_current_xact_id()");
+
+            try (var insert = late.prepareStatement("""
+                    INSERT INTO client_balance_changes(client_id, amount, change_type, created_date)
+                    VALUES (?, 10, 'ADJUSTMENT', now() - INTERVAL '59 minutes 59 seconds')
+                    """)) {
+                insert.setObject(1, clientId);
+                insert.executeUpdate();
+            }
+            late.commit();
+
+            clientBalanceChangeService.createBalanceSnapshots(1);
+            holder.commit();
+        }
+        clientBalanceChangeService.createBalanceSnapshots(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM client_ledger_balances WHERE client_id = ?",
+                BigDecimal.class, clientId))
+                .isEqualByComparingTo("11");
+    }
+
+    private void insertOrder(String name, String status, ZonedDateTime createdDate) {
+        inTestSchema(() -> jdbcTemplate.update("""
+                INSERT INTO orders(name, price, supplier_id, consumer_id, status, created_date)
+                VALUES (?, 1, ?, ?, ?::order_status, ?)
+                """, name, UUID.randomUUID(), UUID.randomUUID(), status, createdDate.toOffsetDateTime()));
+    }
+
+    private <T> T inTestSchema(Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL search_path TO %s, public".formatted(SCHEMA));
+            return action.get();
+        });
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.enums.ProfitGranularity;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.order.OrderCreationSteps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProfitHistoryTests {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    private String run;
+    private ClientResponse supplier;
+    private ClientResponse consumer;
+
+    @BeforeEach
+    void createClients() {
+        run = UUID.randomUUID().toString();
+        supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@history.test".formatted(run), null));
+        consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@history.test".formatted(run), null));
+    }
+
+    @Test
+    void historyIncludesChangesNotRolledUpYet() {
+        var today = LocalDate.now(ZoneOffset.UTC);
+        orderCreationSteps.complete(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()), ZonedDateTime.now());
+        orderCreationSteps.complete(new OrderRequest("Other " + run, BigDecimal.ONE, supplier.id(), consumer.id()), ZonedDateTime.now());
+        clientBalanceChangeService.refreshProfitForClient(supplier.id());
+
+        var history = clientService.getProfitHistory(supplier.id(), today, today.plusDays(1), ProfitGranularity.DAY);
+        clientBalanceChangeService.rollUpProfit();
+
+        assertThat(history).singleElement().satisfies(day -> {
+            assertThat(day.periodStart()).isEqualTo(today);
+            assertThat(day.orderCreation()).isEqualByComparingTo("11");
+            assertThat(day.adjustment()).isEqualByComparingTo("-11");
+            assertThat(day.profit()).isEqualByComparingTo("0");
+            assertThat(day.changes()).isEqualTo(3);
+        });
+        assertThat(clientService.getProfitHistory(supplier.id(), today, today.plusDays(1), ProfitGranularity.DAY))
+                .isEqualTo(history);
+        assertThat(clientService.getProfitHistory(consumer.id(), today.withDayOfMonth(1), today.plusDays(1), ProfitGranularity.MONTH))
+                .singleElement()
+                .satisfies(month -> {
+                    assertThat(month.periodStart()).isEqualTo(today.withDayOfMonth(1));
+                    assertThat(month.profit()).isEqualByComparingTo("-11");
+                    assertThat(month.changes()).isEqualTo(2);
+                });
+        assertThat(clientService.getProfitHistory(supplier.id(), today.minusDays(7), today, ProfitGranularity.DAY)).isEmpty();
+    }
+
+    @Test
+    void firstPeriodStartsAtDateFrom() {
+        var today = LocalDate.now(ZoneOffset.UTC);
+        orderCreationSteps.complete(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()), ZonedDateTime.now());
+
+        assertThat(clientService.getProfitHistory(supplier.id(), today, today.plusDays(1), ProfitGranularity.WEEK))
+                .singleElement()
+                .satisfies(week -> assertThat(week.periodStart()).isEqualTo(today));
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        var today = LocalDate.now(ZoneOffset.UTC);
+
+        assertThatThrownBy(() -> clientService.getProfitHistory(supplier.id(), today, today, ProfitGranularity.DAY))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Date from must be before date to");
+        assertThatThrownBy(() -> clientService.getProfitHistory(UUID.randomUUID(), today, today.plusDays(1), ProfitGranularity.DAY))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Client not found by id");
+    }
+
+}
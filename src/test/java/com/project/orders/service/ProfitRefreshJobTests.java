@@ -0,0 +1,135 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.ProfitRefreshJobResponse;
+import com.project.orders.enums.ProfitRefreshStatus;
+import com.project.orders.persistence.repository.ClientBalanceRepository;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.clientbalance.ClientBalanceChangeService;
+import com.project.orders.service.clientbalance.ProfitRefreshSteps;
+import com.project.orders.service.clientbalance.ProfitRefreshWorker;
+import com.project.orders.service.order.OrderCreationSteps;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "orders.balances.refresh.chunks=16",
+        "spring.jpa.show-sql=false"
+})
+class ProfitRefreshJobTests {
+
+    private static final UUID NO_CLIENTS = new UUID(0L, 0L);
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderCreationSteps orderCreationSteps;
+
+    @Autowired
+    private ClientBalanceChangeService clientBalanceChangeService;
+
+    @Autowired
+    private ProfitRefreshSteps profitRefreshSteps;
+
+    @Autowired
+    private ProfitRefreshWorker profitRefreshWorker;
+
+    @Autowired
+    private ThreadPoolTaskExecutor profitRefreshExecutor;
+
+    @Autowired
+    private ClientBalanceRepository clientBalanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void refreshJobResetsProfitInEveryChunk() throws Exception {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@orders.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@orders.test".formatted(run), null));
+        orderCreationSteps.complete(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()), ZonedDateTime.now());
+
+        var job = runScopedTo(profitRefreshSteps.createJob().id(), supplier.id(), consumer.id());
+
+        assertThat(job.status()).isEqualTo(ProfitRefreshStatus.COMPLETED);
+        assertThat(job.completedChunks()).isEqualTo(16);
+        assertThat(job.refreshedClients()).isEqualTo(2);
+        assertThat(job.etaSeconds()).isZero();
+        assertThat(clientBalanceRepository.getBalance(supplier.id())).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(clientBalanceRepository.getBalance(consumer.id())).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void concurrentRequestsShareTheRunningJob() throws Exception {
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var jobIds = new HashSet<UUID>();
+        try {
+            var futures = IntStream.range(0, THREADS)
+                    .mapToObj(i -> executor.submit((Callable<UUID>) () -> {
+                        start.await();
+                        return profitRefreshSteps.createJob().id();
+                    }))
+                    .toList();
+            start.countDown();
+            for (var future : futures) {
+                jobIds.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jobIds).hasSize(1);
+        assertThat(runScopedTo(jobIds.iterator().next()).status()).isEqualTo(ProfitRefreshStatus.COMPLETED);
+    }
+
+    @Test
+    void repeatedRequestsDoNotStartMoreWorkers() throws Exception {
+        var job = profitRefreshSteps.createJob();
+        var tasks = profitRefreshExecutor.getThreadPoolExecutor().getTaskCount();
+
+        var repeated = clientBalanceChangeService.refreshProfitForAllClients();
+
+        assertThat(job.created()).isTrue();
+        assertThat(profitRefreshSteps.createJob()).isEqualTo(new ProfitRefreshSteps.CreatedJob(job.id(), false));
+        assertThat(repeated.id()).isEqualTo(job.id());
+        assertThat(profitRefreshExecutor.getThreadPoolExecutor().getTaskCount()).isEqualTo(tasks);
+        assertThat(runScopedTo(job.id()).status()).isEqualTo(ProfitRefreshStatus.COMPLETED);
+    }
+
+    private ProfitRefreshJobResponse runScopedTo(UUID jobId, UUID... clientIds) throws InterruptedException {
+        jdbcTemplate.update("UPDATE profit_refresh_chunks SET range_start = ?, range_end = ? WHERE job_id = ?",
+                NO_CLIENTS, NO_CLIENTS, jobId);
+        for (int i = 0; i < clientIds.length; i++) {
+            jdbcTemplate.update("UPDATE profit_refresh_chunks SET range_start = ?, range_end = ? WHERE job_id = ? AND chunk_index = ?",
+                    clientIds[i], clientIds[i], jobId, i);
+        }
+        profitRefreshWorker.start(jobId);
+
+        var job = clientBalanceChangeService.getRefreshJob(jobId);
+        for (int i = 0; i < 100 && job.status() == ProfitRefreshStatus.RUNNING; i++) {
+            Thread.sleep(100);
+            job = clientBalanceChangeService.getRefreshJob(jobId);
+        }
+        return job;
+    }
+
+}
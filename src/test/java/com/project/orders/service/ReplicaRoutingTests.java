@@ -0,0 +1,109 @@
+package com.project.orders.service;
+
+import com.project.orders.config.ReadYourWritesInterceptor;
+import com.project.orders.persistence.datasource.ReadReplica;
+import com.project.orders.persistence.datasource.ReplicaRoutingContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "orders.processing.delay.min=0ms",
+        "orders.processing.delay.max=0ms",
+        "spring.jpa.show-sql=false",
+        "orders.database.replica.enabled=true",
+        "orders.database.replica.url=jdbc:postgresql://127.0.0.1:5432/postgres?ApplicationName=orders-replica"
+                + "&currentSchema=replica_routing_test,pg_catalog,public"
+})
+class ReplicaRoutingTests {
+
+    private static final String REPLICA = "orders-replica";
+    private static final String SCHEMA = "replica_routing_test";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadReplica readReplica;
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        readReplica.refreshLag();
+
+        assertThat(readReplica.isUsable()).isTrue();
+        assertThat(applicationName(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        assertThat(applicationName(false)).isNotEqualTo(REPLICA);
+    }
+
+    @Test
+    void readOnlyTransactionsUsePrimaryWhenRequired() {
+        readReplica.refreshLag();
+
+        assertThat(ReplicaRoutingContext.onPrimary(() -> applicationName(true))).isNotEqualTo(REPLICA);
+        assertThat(applicationName(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void replicaIsNotUsedWhileWalReceiverIsDisconnected() {
+        jdbcTemplate.execute("""
+                DROP SCHEMA IF EXISTS %1$s CASCADE;
+                CREATE SCHEMA %1$s;
+                CREATE FUNCTION %1$s.pg_is_in_recovery() RETURNS BOOLEAN AS 'SELECT TRUE' LANGUAGE SQL;
+                CREATE FUNCTION %1$s.pg_last_wal_receive_lsn() RETURNS PG_LSN AS 'SELECT ''0/1000''::PG_LSN' LANGUAGE SQL;
+                CREATE FUNCTION %1$s.pg_last_wal_replay_lsn() RETURNS PG_LSN AS 'SELECT ''0/1000''::PG_LSN' LANGUAGE SQL;
+                CREATE FUNCTION %1$s.pg_last_xact_replay_timestamp() RETURNS TIMESTAMPTZ
+                    AS 'SELECT now() - INTERVAL ''1 hour''' LANGUAGE SQL;
+                CREATE TABLE %1$s.pg_stat_wal_receiver (status TEXT);
+                """.formatted(SCHEMA));
+        try {
+            readReplica.refreshLag();
+            assertThat(readReplica.isUsable()).isFalse();
+            assertThat(applicationName(true)).isNotEqualTo(REPLICA);
+
+            jdbcTemplate.update("INSERT INTO %s.pg_stat_wal_receiver VALUES ('streaming')".formatted(SCHEMA));
+            readReplica.refreshLag();
+            assertThat(readReplica.isUsable()).isTrue();
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS %s CASCADE".formatted(SCHEMA));
+            readReplica.refreshLag();
+        }
+    }
+
+    @Test
+    void readYourWritesIsClearedWhenAsyncHandlingStarts() {
+        var interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5));
+        var request = new MockHttpServletRequest(HttpMethod.POST.name(), "/orders");
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        assertThat(ReplicaRoutingContext.isPrimaryRequired()).isTrue();
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        assertThat(ReplicaRoutingContext.isPrimaryRequired()).isFalse();
+    }
+
+    private String applicationName(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.dto.response.ClientResponse;
+import com.project.orders.service.cache.ResponseCache;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "orders.processing.delay.min=0ms",
+        "orders.processing.delay.max=0ms",
+        "spring.jpa.show-sql=false"
+})
+class ResponseCacheTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String run;
+    private ClientResponse supplier;
+    private ClientResponse consumer;
+
+    @BeforeEach
+    void createClients() {
+        run = UUID.randomUUID().toString();
+        supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@etag.test".formatted(run), null));
+        consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@etag.test".formatted(run), null));
+    }
+
+    @Test
+    void unchangedClientIsServedFromCache() {
+        var client = clientService.getVersionedById(consumer.id(), null);
+
+        assertThat(clientService.getVersionedById(consumer.id(), null)).isSameAs(client);
+
+        orderService.create(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()));
+        var changed = clientService.getVersionedById(consumer.id(), null);
+
+        assertThat(changed.etag()).isNotEqualTo(client.etag());
+        assertThat(changed.content().profit()).isEqualByComparingTo("-10");
+    }
+
+    @Test
+    void orderVersionFollowsEmbeddedClients() {
+        var order = orderService.create(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()));
+        var withoutProfit = orderService.getVersionedById(order.id(), false, null);
+        var withProfit = orderService.getVersionedById(order.id(), true, null);
+
+        orderService.create(new OrderRequest("Other " + run, BigDecimal.ONE, supplier.id(), consumer.id()));
+
+        assertThat(orderService.getVersionedById(order.id(), false, null)).isSameAs(withoutProfit);
+        assertThat(orderService.getVersionedById(order.id(), true, null).etag()).isNotEqualTo(withProfit.etag());
+
+        clientService.update(consumer.id(), new ClientRequest("Renamed", consumer.email(), null));
+        var renamed = orderService.getVersionedById(order.id(), false, null);
+
+        assertThat(renamed.etag()).isNotEqualTo(withoutProfit.etag());
+        assertThat(renamed.content().consumer().name()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void unchangedClientIsNotModified() throws Exception {
+        var httpClient = HttpClient.newHttpClient();
+        var uri = URI.create("http://localhost:%d/clients/%s".formatted(port, consumer.id()));
+
+        var response = httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        var etag = response.headers().firstValue("ETag").orElseThrow();
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        var notModified = httpClient.send(HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body()).isEmpty();
+
+        clientService.setActive(consumer.id(), false);
+
+        var modified = httpClient.send(HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(modified.statusCode()).isEqualTo(200);
+        assertThat(modified.headers().firstValue("ETag")).hasValueSatisfying(changed -> assertThat(changed).isNotEqualTo(etag));
+    }
+
+    @Test
+    void matchingIfNoneMatchSkipsLoader() {
+        var order = orderService.create(new OrderRequest("Order " + run, BigDecimal.TEN, supplier.id(), consumer.id()));
+        var client = clientService.getVersionedById(consumer.id(), null);
+        var versioned = orderService.getVersionedById(order.id(), true, null);
+        cacheManager.getCache(ResponseCache.CLIENT_RESPONSES).clear();
+        cacheManager.getCache(ResponseCache.ORDER_RESPONSES).clear();
+
+        var notModifiedClient = clientService.getVersionedById(consumer.id(), "\"%s\"".formatted(client.etag()));
+        var notModifiedOrder = orderService.getVersionedById(order.id(), true, "W/\"0\", \"%s\"".formatted(versioned.etag()));
+
+        assertThat(notModifiedClient.isNotModified()).isTrue();
+        assertThat(notModifiedClient.etag()).isEqualTo(client.etag());
+        assertThat(notModifiedOrder.isNotModified()).isTrue();
+        assertThat(cacheManager.getCache(ResponseCache.CLIENT_RESPONSES).get(consumer.id())).isNull();
+        assertThat(responseCache.getClient(consumer.id(), client.etag(), "*", () -> fail("loader invoked")).isNotModified())
+                .isTrue();
+
+        var stale = clientService.getVersionedById(consumer.id(), "\"stale\"");
+        assertThat(stale.isNotModified()).isFalse();
+        assertThat(stale.content().id()).isEqualTo(consumer.id());
+    }
+
+}
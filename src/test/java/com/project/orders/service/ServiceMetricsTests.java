@@ -0,0 +1,86 @@
+package com.project.orders.service;
+
+import com.project.orders.dto.request.ClientRequest;
+import com.project.orders.dto.request.OrderRequest;
+import com.project.orders.exception.ApiException;
+import com.project.orders.service.client.ClientService;
+import com.project.orders.service.order.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "orders.processing.delay.min=0ms",
+        "orders.processing.delay.max=0ms",
+        "spring.jpa.show-sql=false"
+})
+class ServiceMetricsTests {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void orderCreationStagesAreTimedByOutcome() {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@metrics.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@metrics.test".formatted(run), null));
+
+        orderService.create(new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id()));
+        assertThatThrownBy(() -> orderService.create(new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), UUID.randomUUID())))
+                .isInstanceOf(ApiException.class);
+
+        assertThat(operationCount("order.create", "success")).isPositive();
+        assertThat(operationCount("order.create", "404")).isPositive();
+        assertThat(stageCount("order.create", "processing_delay", "success")).isPositive();
+        assertThat(stageCount("order.create", "validation", "404")).isPositive();
+        assertThat(stageCount("order.validate", "client_lookup", "404")).isPositive();
+        assertThat(stageCount("order.complete", "uniqueness_check", "success")).isPositive();
+        assertThat(stageCount("order.complete", "balance_update", "success")).isPositive();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+
+    @Test
+    void asyncOrderCreationIsTimedByCompletionOutcome() {
+        var run = UUID.randomUUID().toString();
+        var supplier = clientService.create(new ClientRequest("Supplier", "supplier-%s@metrics.test".formatted(run), null));
+        var consumer = clientService.create(new ClientRequest("Consumer", "consumer-%s@metrics.test".formatted(run), null));
+        var succeeded = operationCount("order.create", "success");
+        var notFound = operationCount("order.create", "404");
+
+        orderService.create(new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), consumer.id()), "created-" + run).join();
+        var failed = orderService.create(new OrderRequest("Order " + run, BigDecimal.ONE, supplier.id(), UUID.randomUUID()),
+                "failed-" + run);
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(ApiException.class);
+        assertThat(operationCount("order.create", "success")).isEqualTo(succeeded + 1);
+        assertThat(operationCount("order.create", "404")).isEqualTo(notFound + 1);
+    }
+
+    private long operationCount(String operation, String outcome) {
+        var timer = meterRegistry.find("orders.service.operation")
+                .tags("operation", operation, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long stageCount(String operation, String stage, String outcome) {
+        var timer = meterRegistry.find("orders.service.stage")
+                .tags("operation", operation, "stage", stage, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.project.orders.service.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void addedKeysAreAlwaysReported() {
+        var bloomFilter = new BloomFilter(INSERTIONS, 0.01);
+        var keys = IntStream.range(0, INSERTIONS)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        keys.forEach(bloomFilter::put);
+
+        assertThat(keys).allMatch(bloomFilter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredProbability() {
+        var bloomFilter = new BloomFilter(INSERTIONS, 0.01);
+        IntStream.range(0, INSERTIONS).forEach(i -> bloomFilter.put("present-" + i));
+
+        var falsePositives = IntStream.range(0, INSERTIONS)
+                .filter(i -> bloomFilter.mightContain("absent-" + i))
+                .count();
+
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+        assertThat(bloomFilter.expectedFalsePositiveProbability()).isLessThan(0.02);
+        assertThat(bloomFilter.memoryBytes()).isLessThan(150_000);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.project.orders.service.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+    @Test
+    void amountsRoundTripThroughNumeric() {
+        var amount = Money.of(new BigDecimal("12.3"));
+
+        assertThat(amount.units()).isEqualTo(1230);
+        assertThat(amount.plus(Money.of(new BigDecimal("0.07"))).toBigDecimal()).isEqualByComparingTo("12.37");
+        assertThat(amount.minus(Money.of(BigDecimal.TEN)).negate().toBigDecimal()).isEqualByComparingTo("-2.30");
+        assertThat(Money.of(new BigDecimal("1.000")).toBigDecimal()).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void inexactAmountsAreRejected() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e17")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void storedAmountsCanBeRounded() {
+        assertThat(Money.of(new BigDecimal("0.005"), RoundingMode.FLOOR).units()).isZero();
+        assertThat(Money.of(new BigDecimal("-0.005"), RoundingMode.FLOOR).units()).isEqualTo(-1);
+    }
+
+    @Test
+    void subCentBalancesAreRoundedDown() {
+        var balance = Money.of(new BigDecimal("-990.005"), RoundingMode.FLOOR);
+        var limit = Money.of(new BigDecimal("-1000"));
+
+        assertThat(balance.toBigDecimal()).isEqualByComparingTo("-990.01");
+        assertThat(balance.minus(Money.of(new BigDecimal("10.00"))).units()).isLessThan(limit.units());
+        assertThat(balance.minus(Money.of(new BigDecimal("9.99"))).units()).isEqualTo(limit.units());
+    }
+
+    @Test
+    void overflowIsDetected() {
+        var max = new Money(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(new Money(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(Long.MIN_VALUE).negate())
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(Long.MIN_VALUE).minus(new Money(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+}